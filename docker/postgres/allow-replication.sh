@@ -0,0 +1,4 @@
+#!/bin/sh
+# Lets the replica stream WAL from the primary over the compose network.
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -1,5 +1,6 @@
 package com.bestapp.com.apiExceptionHandler;
 
+import com.bestapp.com.exception.BadRequestException;
 import com.bestapp.com.exception.NotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,4 +19,10 @@ public class ApiExceptionHandler {
         return e.getMessage();
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String badRequestExceptionHandler(BadRequestException e) {
+        return e.getMessage();
+    }
+
 }
\ No newline at end of file
@@ -1,52 +1,62 @@
 package com.bestapp.com.aspect;
 
+import com.bestapp.com.audit.AuditLogWriter;
+import com.bestapp.com.dto.ProductPageDTO;
 import com.bestapp.com.model.AuditLog;
-import com.bestapp.com.service.AuditLogService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
 
+/**
+ * Records the public calls of the product service, one event per call. Events are handed to the
+ * {@link AuditLogWriter} queue and written in the background, so the audited call does not wait
+ * for the database.
+ */
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class AuditAspect {
 
-    private final AuditLogService auditLogService;
+    private final AuditLogWriter auditLogWriter;
     private final HttpServletRequest httpServletRequest;
 
-    @Pointcut("execution(* com.bestapp.com.service.impl.ProductServiceImpl.*(..))")
+    @Pointcut("execution(public * com.bestapp.com.service.impl.ProductServiceImpl.*(..))")
     public void productServiceMethods() {}
 
-    @Before("productServiceMethods()")
-    public void logBefore(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        String parameters = Arrays.toString(args);
+    /**
+     * Records one event per invocation with its arguments, duration, outcome and result size.
+     * Only the argument references are kept; they are encoded by the writer thread.
+     */
+    @Around("productServiceMethods()")
+    public Object audit(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object[] arguments = joinPoint.getArgs();
         String username = getCurrentUsername();
         LocalDateTime timestamp = LocalDateTime.now();
-        AuditLog auditLog = new AuditLog(username, methodName, parameters, timestamp);
-        auditLogService.saveAuditLog(auditLog);
-        System.out.println("Audit log saved: User " + username + " performed action - " + methodName + " with parameters: " + parameters);
-
-    }
-
-    @After("productServiceMethods()")
-    public void logAfter(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        String username = getCurrentUsername();
-        LocalDateTime timestamp = LocalDateTime.now();
-        AuditLog auditLog = new AuditLog(username, methodName, "N/A", timestamp);
-        auditLogService.saveAuditLog(auditLog);
-        System.out.println("Audit log saved: Action " + methodName + " completed successfully.");
+        long start = System.nanoTime();
+        String outcome = AuditLog.SUCCESS;
+        Integer resultSize = null;
+        try {
+            Object result = joinPoint.proceed();
+            resultSize = resultSize(result);
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getName();
+            throw e;
+        } finally {
+            AuditLog auditLog = new AuditLog(username, joinPoint.getSignature().getName(), null, timestamp,
+                    System.nanoTime() - start, outcome, resultSize);
+            auditLog.setArguments(arguments);
+            auditLogWriter.submit(auditLog);
+        }
     }
 
     private String getCurrentUsername() {
@@ -60,4 +70,27 @@ public class AuditAspect {
         return "unknown_user";
     }
 
+    /**
+     * Number of elements of a result: items of a page or a collection, bytes of a serialized
+     * response, 1 for any other object and null for no result.
+     */
+    private static Integer resultSize(Object result) {
+        if (result == null) {
+            return null;
+        }
+        if (result instanceof ProductPageDTO page) {
+            return page.getItems().size();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        return 1;
+    }
+
 }
@@ -0,0 +1,37 @@
+package com.bestapp.com.audit;
+
+import java.util.Locale;
+
+/**
+ * What {@link AuditLogWriter} does with an audit event when its queue cannot take it.
+ */
+public enum AuditBackpressure {
+
+    /**
+     * The calling thread waits until the writer frees a slot; no event is lost while the writer runs.
+     */
+    BLOCK,
+
+    /**
+     * The oldest queued event is dropped to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Once the queue is half full only one event in every {@code sample-rate} is queued; the
+     * others, and every event arriving at a full queue, are dropped.
+     */
+    SAMPLE;
+
+    /**
+     * Resolves a configuration value such as {@code drop-oldest}.
+     *
+     * @param value property value, {@code block} if null.
+     * @return matching policy.
+     * @throws IllegalArgumentException if the value is not a supported policy.
+     */
+    public static AuditBackpressure fromProperty(String value) {
+        return value == null ? BLOCK : valueOf(value.strip().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,288 @@
+package com.bestapp.com.audit;
+
+import com.bestapp.com.model.AuditLog;
+import com.bestapp.com.service.AuditLogService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit events in the background so that auditing does not add database round trips to
+ * the audited call.
+ * <p>
+ * Request threads hand events to a bounded lock-free queue: a {@link ConcurrentLinkedQueue} whose
+ * size is reserved with a compare-and-set before an event is added. A single writer thread drains
+ * it and saves the events in batches of {@code batchSize}, or as soon as the oldest event of a
+ * partial batch has waited {@code flushInterval}; one batch is one transaction whose inserts the
+ * driver rewrites into multi-row statements. When the queue is full the {@link AuditBackpressure}
+ * policy decides between waiting, dropping the oldest event and sampling.
+ * </p>
+ * <p>
+ * Events carry the arguments of the audited call as references; the writer encodes them with the
+ * {@link AuditParameterEncoder} just before saving, off the request thread.
+ * </p>
+ * <p>
+ * {@link #close()} stops accepting events, writes everything queued and waits for the writer.
+ * A batch the database rejects is counted as failed and not retried. The first failure of a
+ * streak is logged with its cause, and the end of the streak with the number of events lost.
+ * </p>
+ */
+@Slf4j
+public class AuditLogWriter implements AutoCloseable {
+
+    private static final long[] FLUSH_BUCKET_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    /**
+     * How long a blocked producer sleeps before checking the queue again.
+     */
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditLogService auditLogService;
+    private final AuditParameterEncoder parameterEncoder;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditBackpressure backpressure;
+    private final int sampleRate;
+
+    private final ConcurrentLinkedQueue<AuditLog> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LongAdder acceptedEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder writtenEvents = new LongAdder();
+    private final LongAdder failedEvents = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final LongAccumulator maxFlushNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] flushBuckets = new LongAdder[FLUSH_BUCKET_MILLIS.length + 1];
+
+    private volatile boolean running = true;
+    private volatile Thread writer;
+
+    /**
+     * Events lost since the last successful batch; only touched by the writer thread.
+     */
+    private long failingStreakEvents;
+
+    /**
+     * @param capacity      maximal number of queued events.
+     * @param batchSize     number of events written in one transaction.
+     * @param flushInterval longest time an event waits for its batch to fill.
+     * @param backpressure  policy applied when the queue is full.
+     * @param sampleRate    one in how many events is queued under {@link AuditBackpressure#SAMPLE}.
+     */
+    public AuditLogWriter(AuditLogService auditLogService, AuditParameterEncoder parameterEncoder, int capacity,
+                          int batchSize, Duration flushInterval, AuditBackpressure backpressure, int sampleRate) {
+        this.auditLogService = auditLogService;
+        this.parameterEncoder = parameterEncoder;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.backpressure = backpressure;
+        this.sampleRate = Math.max(1, sampleRate);
+        for (int i = 0; i < flushBuckets.length; i++) {
+            flushBuckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public synchronized void start() {
+        if (writer == null && running) {
+            Thread thread = new Thread(this::drain, "audit-writer");
+            thread.setDaemon(true);
+            writer = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Queues an event, applying the backpressure policy if the queue is full.
+     * Events submitted after {@link #close()} are dropped.
+     *
+     * @param auditLog event to write.
+     * @return true if the event was queued.
+     */
+    public boolean submit(AuditLog auditLog) {
+        if (!running || backpressure == AuditBackpressure.SAMPLE && !sampled()) {
+            droppedEvents.increment();
+            return false;
+        }
+        while (!reserve()) {
+            if (!running || backpressure == AuditBackpressure.SAMPLE) {
+                droppedEvents.increment();
+                return false;
+            }
+            if (backpressure == AuditBackpressure.DROP_OLDEST && queue.poll() != null) {
+                // the slot of the dropped event is taken over by the new one
+                droppedEvents.increment();
+                break;
+            }
+            // under DROP_OLDEST the queue is empty while the reserved slots are still being filled
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            if (Thread.currentThread().isInterrupted()) {
+                droppedEvents.increment();
+                return false;
+            }
+        }
+        queue.add(auditLog);
+        acceptedEvents.increment();
+        Thread thread = writer;
+        if (thread != null && size.get() >= batchSize) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * Stops accepting events and writes the queued ones: on the writer thread if it was started,
+     * otherwise on the calling thread.
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = writer;
+        }
+        if (thread == null) {
+            drain();
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the queue state and the batch write counters.
+     *
+     * @return statistics snapshot.
+     */
+    public AuditWriterStats snapshot() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < FLUSH_BUCKET_MILLIS.length; i++) {
+            histogram.put("<" + FLUSH_BUCKET_MILLIS[i] + "ms", flushBuckets[i].sum());
+        }
+        histogram.put(">=" + FLUSH_BUCKET_MILLIS[FLUSH_BUCKET_MILLIS.length - 1] + "ms",
+                flushBuckets[FLUSH_BUCKET_MILLIS.length].sum());
+        return new AuditWriterStats(size.get(), capacity, backpressure, acceptedEvents.sum(), droppedEvents.sum(),
+                writtenEvents.sum(), failedEvents.sum(), flushCount.sum(), totalFlushNanos.sum(), maxFlushNanos.get(),
+                histogram);
+    }
+
+    /**
+     * Takes a slot of the queue if one is free.
+     */
+    private boolean reserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Decides whether an event is kept under {@link AuditBackpressure#SAMPLE}.
+     */
+    private boolean sampled() {
+        return size.get() < capacity / 2 || sampleCounter.getAndIncrement() % sampleRate == 0;
+    }
+
+    private AuditLog poll() {
+        AuditLog auditLog = queue.poll();
+        if (auditLog != null) {
+            size.decrementAndGet();
+        }
+        return auditLog;
+    }
+
+    /**
+     * Writer loop: collects events into a batch and writes it when it is full, when its oldest
+     * event is due or, after {@link #close()}, when the queue is empty.
+     */
+    private void drain() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        long flushAt = 0;
+        while (true) {
+            AuditLog event = poll();
+            long now = System.nanoTime();
+            if (event != null) {
+                if (batch.isEmpty()) {
+                    flushAt = now + flushIntervalNanos;
+                }
+                batch.add(event);
+            }
+            boolean stopping = event == null && !running;
+            if (batch.size() >= batchSize || !batch.isEmpty() && (stopping || now - flushAt >= 0)) {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+            } else if (stopping) {
+                return;
+            } else if (event == null) {
+                LockSupport.parkNanos(this, batch.isEmpty() ? flushIntervalNanos : flushAt - now);
+            }
+        }
+    }
+
+    /**
+     * Replaces the argument references of an event with their encoding, so they can be collected.
+     */
+    private void encodeParameters(AuditLog auditLog) {
+        if (auditLog.getArguments() != null) {
+            auditLog.setParameters(parameterEncoder.encode(auditLog.getArguments()));
+            auditLog.setArguments(null);
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        try {
+            batch.forEach(this::encodeParameters);
+            auditLogService.saveAuditLogs(batch);
+            writtenEvents.add(batch.size());
+            if (failingStreakEvents > 0) {
+                log.warn("Audit log writes recovered; {} events were lost", failingStreakEvents);
+                failingStreakEvents = 0;
+            }
+        } catch (RuntimeException e) {
+            failedEvents.add(batch.size());
+            if (failingStreakEvents == 0) {
+                log.error("Failed to write a batch of {} audit events; they are dropped until writes succeed again",
+                        batch.size(), e);
+            }
+            failingStreakEvents += batch.size();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            flushCount.increment();
+            totalFlushNanos.add(nanos);
+            maxFlushNanos.accumulate(nanos);
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < FLUSH_BUCKET_MILLIS.length && millis >= FLUSH_BUCKET_MILLIS[bucket]) {
+                bucket++;
+            }
+            flushBuckets[bucket].increment();
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.bestapp.com.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes the arguments of an audited call as a compact JSON array. It runs on the
+ * {@link AuditLogWriter} thread, so the audited call only hands over the argument references.
+ * <p>
+ * Each argument is converted to a JSON tree and bounded: strings are cut to {@code maxStringLength}
+ * characters, arrays to their first {@code maxElements} elements and nesting to
+ * {@value #MAX_DEPTH} levels, and the values of fields named like a redacted field are masked at
+ * any depth. Streams, readers, writers and byte arrays are recorded by type and size only; an argument that
+ * cannot be converted is recorded by its type. Encoding never fails the write of an event.
+ * </p>
+ */
+public class AuditParameterEncoder {
+
+    private static final String REDACTED = "***";
+    private static final int MAX_DEPTH = 8;
+    private static final String TRUNCATED = "…";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final int maxStringLength;
+    private final int maxElements;
+    private final Set<String> redactedFields;
+
+    /**
+     * @param maxStringLength maximal number of characters kept of a string value.
+     * @param maxElements     maximal number of elements kept of an array or a collection.
+     * @param redactedFields  names of the fields whose values are masked, ignoring case.
+     */
+    public AuditParameterEncoder(ObjectMapper objectMapper, int maxStringLength, int maxElements,
+                                 Set<String> redactedFields) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.maxStringLength = maxStringLength;
+        this.maxElements = maxElements;
+        this.redactedFields = redactedFields.stream()
+                .map(field -> field.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Encodes the arguments of a call.
+     *
+     * @param arguments arguments of the call; null if it had none.
+     * @return JSON array with one bounded element per argument.
+     */
+    public String encode(Object[] arguments) {
+        ArrayNode encoded = JsonNodeFactory.instance.arrayNode();
+        if (arguments != null) {
+            for (Object argument : arguments) {
+                encoded.add(toTree(argument));
+            }
+        }
+        try {
+            return writer.writeValueAsString(encoded);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode audit parameters", e);
+        }
+    }
+
+    private JsonNode toTree(Object argument) {
+        if (argument == null) {
+            return JsonNodeFactory.instance.nullNode();
+        }
+        if (argument instanceof byte[] bytes) {
+            return JsonNodeFactory.instance.textNode("<byte[" + bytes.length + "]>");
+        }
+        if (argument instanceof InputStream || argument instanceof Reader
+                || argument instanceof OutputStream || argument instanceof Writer) {
+            return typeOf(argument);
+        }
+        try {
+            return bounded(objectMapper.valueToTree(argument), 0);
+        } catch (IllegalArgumentException e) {
+            return typeOf(argument);
+        }
+    }
+
+    private JsonNode bounded(JsonNode node, int depth) {
+        if (node.isTextual() && node.textValue().length() > maxStringLength) {
+            return JsonNodeFactory.instance.textNode(node.textValue().substring(0, maxStringLength) + TRUNCATED);
+        }
+        if (!node.isContainerNode()) {
+            return node;
+        }
+        if (depth >= MAX_DEPTH) {
+            return JsonNodeFactory.instance.textNode(TRUNCATED);
+        }
+        if (node.isArray()) {
+            ArrayNode array = JsonNodeFactory.instance.arrayNode();
+            for (int i = 0; i < Math.min(maxElements, node.size()); i++) {
+                array.add(bounded(node.get(i), depth + 1));
+            }
+            if (node.size() > maxElements) {
+                array.add("<" + (node.size() - maxElements) + " more>");
+            }
+            return array;
+        }
+        ObjectNode object = JsonNodeFactory.instance.objectNode();
+        for (Map.Entry<String, JsonNode> field : node.properties()) {
+            object.set(field.getKey(), redactedFields.contains(field.getKey().toLowerCase(Locale.ROOT))
+                    ? JsonNodeFactory.instance.textNode(REDACTED)
+                    : bounded(field.getValue(), depth + 1));
+        }
+        return object;
+    }
+
+    private static JsonNode typeOf(Object argument) {
+        return JsonNodeFactory.instance.textNode("<" + argument.getClass().getSimpleName() + ">");
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.bestapp.com.audit;
+
+import com.bestapp.com.repository.AuditLogRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keeps the monthly partitions of the audit table: creates the partitions of the coming months
+ * ahead of time, so an event never lacks a partition, and enforces retention by dropping whole
+ * partitions, which frees their space at once instead of leaving dead rows behind a {@code DELETE}.
+ * <p>
+ * Partitions are named {@code audit_YYYYMM}; partitions named otherwise are left alone. The
+ * statements run in a read-write transaction, so they go to the primary.
+ * </p>
+ */
+public class AuditPartitionMaintainer {
+
+    private static final String PREFIX = "audit_";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Clock clock;
+
+    /**
+     * @param monthsAhead     number of months after the current one that get a partition in advance.
+     * @param retentionMonths number of months kept, including the current one.
+     */
+    public AuditPartitionMaintainer(AuditLogRepository auditLogRepository, TransactionTemplate transactionTemplate,
+                                    int monthsAhead, int retentionMonths, Clock clock) {
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.clock = clock;
+    }
+
+    /**
+     * Creates the missing partitions up to {@code monthsAhead} months ahead and drops the
+     * partitions of months older than the retention.
+     */
+    public void maintain() {
+        YearMonth current = YearMonth.now(clock);
+        YearMonth oldestKept = current.minusMonths(retentionMonths - 1);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+                LocalDate first = month.atDay(1);
+                auditLogRepository.createPartition(partitionName(month), first, first.plusMonths(1));
+            }
+            for (String name : auditLogRepository.findPartitionNames()) {
+                YearMonth month = monthOf(name);
+                if (month != null && month.isBefore(oldestKept)) {
+                    auditLogRepository.dropPartition(name);
+                }
+            }
+        });
+    }
+
+    static String partitionName(YearMonth month) {
+        return PREFIX + MONTH.format(month);
+    }
+
+    /**
+     * Returns the month of a partition name, or null if the name does not follow the pattern.
+     */
+    static YearMonth monthOf(String partitionName) {
+        if (!partitionName.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(PREFIX.length()), MONTH);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+}
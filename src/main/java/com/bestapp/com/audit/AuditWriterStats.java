@@ -0,0 +1,24 @@
+package com.bestapp.com.audit;
+
+import java.util.Map;
+
+/**
+ * Snapshot of the audit queue and of the batches written from it.
+ *
+ * @param queueDepth       events waiting to be written.
+ * @param queueCapacity    maximal number of waiting events.
+ * @param backpressure     policy applied when the queue is full.
+ * @param acceptedEvents   events queued.
+ * @param droppedEvents    events dropped by the backpressure policy.
+ * @param writtenEvents    events written to the database.
+ * @param failedEvents     events of batches the database rejected.
+ * @param flushCount       number of batches written.
+ * @param totalFlushNanos  total time spent writing batches.
+ * @param maxFlushNanos    longest batch write.
+ * @param flushHistogram   number of batches per upper bound in milliseconds; the last bucket is unbounded.
+ */
+public record AuditWriterStats(int queueDepth, int queueCapacity, AuditBackpressure backpressure,
+                               long acceptedEvents, long droppedEvents, long writtenEvents, long failedEvents,
+                               long flushCount, long totalFlushNanos, long maxFlushNanos,
+                               Map<String, Long> flushHistogram) {
+}
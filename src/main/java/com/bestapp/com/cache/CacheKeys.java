@@ -0,0 +1,117 @@
+package com.bestapp.com.cache;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds the keys under which query results are stored in the {@link ProductCache}.
+ * <p>
+ * Category and brand lookups ignore case, so their keys are normalized to lower case.
+ * Listing page keys can be parsed back to decide whether a write affects a cached entry.
+ * A bounded page of a query is stored under the query key prefixed with the sort, the page
+ * size and the cursor of the page.
+ * </p>
+ * <p>
+ * Search keys are the query with collapsed whitespace in lower case; their terms are compared
+ * with the text of a written product to decide which cached searches it may now match.
+ * </p>
+ */
+public final class CacheKeys {
+
+    private static final String PAGE_SEPARATOR = "/";
+    private static final String WINDOW_SEPARATOR = "|";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String NEGATION = "-";
+    private static final String OR = "or";
+
+    private CacheKeys() {
+    }
+
+    public static String category(String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+
+    public static String brand(String brand) {
+        return brand.toLowerCase(Locale.ROOT);
+    }
+
+    public static String search(String query) {
+        return WHITESPACE.matcher(query.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public static String page(int pageNumber, int pageSize) {
+        return pageNumber + PAGE_SEPARATOR + pageSize;
+    }
+
+    /**
+     * Returns the page size of a listing page key built by {@link #page(int, int)}.
+     *
+     * @param key listing page key.
+     * @return page size, or 0 if the key is not a page key.
+     */
+    public static int pageSize(String key) {
+        int separator = key.indexOf(PAGE_SEPARATOR);
+        return separator < 0 ? 0 : Integer.parseInt(key.substring(separator + PAGE_SEPARATOR.length()));
+    }
+
+    /**
+     * Builds the key of a bounded page of a query.
+     *
+     * @param queryKey category, brand or search key.
+     * @param sort     name of the page order.
+     * @param cursor   cursor of the page; null for the first page.
+     * @param limit    page size.
+     * @return page key.
+     */
+    public static String window(String queryKey, String sort, String cursor, int limit) {
+        return sort + WINDOW_SEPARATOR + limit + WINDOW_SEPARATOR + (cursor == null ? "" : cursor)
+                + WINDOW_SEPARATOR + queryKey;
+    }
+
+    /**
+     * Returns the query key of a key built by {@link #window(String, String, String, int)}.
+     *
+     * @param key page key or plain query key.
+     * @return query key.
+     */
+    public static String queryKey(String key) {
+        int separator = -1;
+        for (int i = 0; i < 3; i++) {
+            separator = key.indexOf(WINDOW_SEPARATOR, separator + 1);
+            if (separator < 0) {
+                return key;
+            }
+        }
+        return key.substring(separator + 1);
+    }
+
+    /**
+     * Checks whether a product with the given text may be among the results of a search key built
+     * by {@link #search(String)}. The check is conservative: it holds when the text contains any
+     * term the query requires, or when the query requires no term at all.
+     *
+     * @param key  search key or page key of a search.
+     * @param text searchable text of the product; null if unknown.
+     * @return false only if the product cannot match the search.
+     */
+    public static boolean searchMayMatch(String key, String text) {
+        if (text == null) {
+            return true;
+        }
+        Set<String> required = WHITESPACE.splitAsStream(queryKey(key))
+                .filter(word -> !word.startsWith(NEGATION) && !word.equals(OR))
+                .flatMap(CacheKeys::terms)
+                .collect(Collectors.toSet());
+        return required.isEmpty() || terms(text.toLowerCase(Locale.ROOT)).anyMatch(required::contains);
+    }
+
+    private static Stream<String> terms(String text) {
+        return Arrays.stream(TERM_SEPARATOR.split(text)).filter(term -> !term.isEmpty());
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.bestapp.com.cache;
+
+import java.time.Duration;
+
+/**
+ * Size and expiry limits of a single {@link CacheType} region of the {@link ProductCache}.
+ *
+ * @param maximumWeight maximum total number of cached products in the region.
+ * @param expireAfterWrite time after which an entry is dropped regardless of its usage.
+ * @param maximumResponseBytes maximum total size of the serialized responses kept for the region.
+ * @param refreshAfterWrite age after which an entry is still served but reloaded in the background;
+ *                          {@link Duration#ZERO} disables stale-while-revalidate for the region.
+ * @param negativeMaximumSize maximum number of keys cached with an empty result.
+ * @param negativeExpireAfterWrite time after which an empty result is looked up again.
+ */
+public record CacheSettings(long maximumWeight, Duration expireAfterWrite, long maximumResponseBytes,
+                            Duration refreshAfterWrite, long negativeMaximumSize, Duration negativeExpireAfterWrite) {
+
+    public static final CacheSettings DEFAULT = new CacheSettings(10_000, Duration.ofMinutes(10), 16 * 1024 * 1024,
+            Duration.ZERO, 10_000, Duration.ofSeconds(30));
+
+}
@@ -7,7 +7,7 @@ public enum CacheType {
 
     CATEGORY,
     BRAND,
-    PRICE,
-    ALL
+    ALL,
+    SEARCH
 
 }
@@ -0,0 +1,14 @@
+package com.bestapp.com.cache;
+
+/**
+ * Loading counters of a single {@link CacheType} region of the {@link ProductCache}.
+ *
+ * @param loadsInFlight number of database loads currently running for the region.
+ * @param coalescedLoads number of callers that waited for a load started by another caller.
+ * @param staleHits number of hits served from an entry older than its refresh interval.
+ * @param refreshes number of background refreshes started.
+ * @param rejectedRefreshes number of refreshes skipped because the refresh executor was saturated.
+ */
+public record LoadStats(long loadsInFlight, long coalescedLoads, long staleHits, long refreshes,
+                        long rejectedRefreshes) {
+}
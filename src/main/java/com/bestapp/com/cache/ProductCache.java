@@ -1,43 +1,204 @@
 package com.bestapp.com.cache;
 
-import com.bestapp.com.model.Product;
-import org.springframework.stereotype.Component;
+import com.bestapp.com.dto.ProductDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Provides caching for frequently requested product queries.
  * <p>
- * Caches search results by category, brand, and price range.
+ * Caches bounded pages of the search results by category, brand and full-text
+ * query, and the pages of the product listing.
+ * Every {@link CacheType} is a separate Caffeine region bounded by the total number of cached
+ * products and by a time-to-live; reads are lock-free, writes are striped and eviction is
+ * frequency-aware, so the cache is safe to share between request threads.
  * Also tracks cache hit/miss statistics.
  * </p>
+ * <p>
+ * A reverse index from product id to the keys of the entries containing that product lets
+ * writes invalidate only the affected entries instead of clearing the whole cache.
+ * </p>
+ * <p>
+ * A second tier keeps the serialized JSON response of an entry, bounded by bytes, so a hit
+ * skips mapping and serialization. It is always dropped together with the product list it was
+ * built from.
+ * </p>
+ * <p>
+ * Concurrent misses for the same key are coalesced: one caller runs the loader while the others
+ * wait for its result. Regions with a refresh interval serve an entry older than the interval
+ * as is and reload it in the background on a bounded executor.
+ * </p>
+ * <p>
+ * Empty results are cached as negative entries in a separate, smaller region with a shorter
+ * time-to-live, so lookups of unknown brands or empty ranges do not reach the database each time
+ * while a real product list is never evicted to make room for them.
+ * </p>
  */
 public class ProductCache {
 
-    private final Map<CacheType, Map<String, List<Product>>> cache = new EnumMap<>(CacheType.class);
+    private final Map<CacheType, Region> regions = new EnumMap<>(CacheType.class);
+    private final Map<Long, Set<EntryKey>> keysByProductId = new ConcurrentHashMap<>();
+    private final Map<EntryKey, CompletableFuture<List<ProductDTO>>> loadsInFlight = new ConcurrentHashMap<>();
+    private final Set<EntryKey> refreshesInFlight = ConcurrentHashMap.newKeySet();
+    private final Executor refreshExecutor;
+    private final Executor afterReplicaLag;
 
     /**
-     * Initializes cache maps for all {@link CacheType} values.
+     * Identifies a cache entry across all cache types.
+     */
+    private record EntryKey(CacheType type, String key) {
+    }
+
+    /**
+     * Caches and counters of a single cache type.
+     */
+    private static final class Region {
+        private final ConcurrentStatsCounter stats = new ConcurrentStatsCounter();
+        private final Duration refreshAfterWrite;
+        private final AtomicLong loadsInFlight = new AtomicLong();
+        private final LongAdder coalescedLoads = new LongAdder();
+        private final LongAdder staleHits = new LongAdder();
+        private final LongAdder refreshes = new LongAdder();
+        private final LongAdder rejectedRefreshes = new LongAdder();
+        private Cache<String, List<ProductDTO>> entries;
+        private Cache<String, byte[]> responses;
+        private Cache<String, Boolean> negatives;
+
+        private Region(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+    }
+
+    /**
+     * Initializes cache regions for all {@link CacheType} values with {@link CacheSettings#DEFAULT}.
      */
     public ProductCache() {
+        this(Map.of(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initializes cache regions for all {@link CacheType} values, without a read replica.
+     *
+     * @param settings        limits per cache type; missing types use {@link CacheSettings#DEFAULT}.
+     * @param refreshExecutor executor running background refreshes of stale entries.
+     */
+    public ProductCache(Map<CacheType, CacheSettings> settings, Executor refreshExecutor) {
+        this(settings, refreshExecutor, Duration.ZERO);
+    }
+
+    /**
+     * Initializes cache regions for all {@link CacheType} values.
+     *
+     * @param settings        limits per cache type; missing types use {@link CacheSettings#DEFAULT}.
+     * @param refreshExecutor executor running background refreshes of stale entries.
+     * @param replicaLag      longest time the read replica lags behind the primary; zero without a replica.
+     */
+    public ProductCache(Map<CacheType, CacheSettings> settings, Executor refreshExecutor, Duration replicaLag) {
+        this.refreshExecutor = refreshExecutor;
+        this.afterReplicaLag = replicaLag.isZero() ? null
+                : CompletableFuture.delayedExecutor(replicaLag.toMillis(), TimeUnit.MILLISECONDS);
         for (CacheType type : CacheType.values()) {
-            cache.put(type, new HashMap<>());
+            CacheSettings typeSettings = settings.getOrDefault(type, CacheSettings.DEFAULT);
+            Region region = new Region(typeSettings.refreshAfterWrite());
+            region.entries = Caffeine.newBuilder()
+                    .maximumWeight(typeSettings.maximumWeight())
+                    .weigher((String key, List<ProductDTO> products) -> products.size() + 1)
+                    .expireAfterWrite(typeSettings.expireAfterWrite())
+                    .removalListener((String key, List<ProductDTO> products, RemovalCause cause) ->
+                            onRemoval(type, key, products, cause))
+                    .recordStats(() -> region.stats)
+                    .build();
+            region.negatives = Caffeine.newBuilder()
+                    .maximumSize(typeSettings.negativeMaximumSize())
+                    .expireAfterWrite(typeSettings.negativeExpireAfterWrite())
+                    .removalListener((String key, Boolean empty, RemovalCause cause) -> onNegativeRemoval(type, key))
+                    .recordStats()
+                    .build();
+            region.responses = Caffeine.newBuilder()
+                    .maximumWeight(typeSettings.maximumResponseBytes())
+                    .weigher((String key, byte[] body) -> body.length)
+                    .expireAfterWrite(typeSettings.expireAfterWrite())
+                    .recordStats()
+                    .build();
+            regions.put(type, region);
         }
     }
 
     /**
      * Retrieves a cached list of products by key and cache type.
      *
-     * @param key  cache lookup key (e.g., category name, brand, price range).
+     * @param key  cache lookup key (e.g., category name, brand, search query).
      * @param type cache category.
-     * @return cached list or empty list if not found.
+     * @return cached list, an empty list for a cached empty result, or empty if not cached.
+     */
+    public Optional<List<ProductDTO>> getFromCache(String key, CacheType type) {
+        return Optional.ofNullable(lookup(regions.get(type), key));
+    }
+
+    /**
+     * Retrieves a cached list of products, loading and caching it on a miss.
+     * Only one caller per key runs the loader; concurrent callers wait for its result.
+     * The loading time is recorded in the statistics of the cache type.
+     *
+     * @param key    cache lookup key (e.g., category name, brand, search query).
+     * @param type   cache category.
+     * @param loader function that loads the products for the key on a miss.
+     * @return cached or freshly loaded list.
      */
-    public List<Product> getFromCache(String key, CacheType type) {
-        List<Product> products = cache.get(type).get(key);
+    public List<ProductDTO> getFromCache(String key, CacheType type, Function<String, List<ProductDTO>> loader) {
+        List<ProductDTO> products = lookup(regions.get(type), key);
         if (products != null) {
-            return Collections.unmodifiableList(products);
+            if (!products.isEmpty()) {
+                refreshIfStale(key, type, products, loader);
+            }
+            return products;
+        }
+        return load(key, type, loader);
+    }
+
+    /**
+     * Retrieves the serialized response for a key, building it from the cached (or freshly loaded)
+     * product list on a miss.
+     *
+     * @param key        cache lookup key (e.g., category name, brand, search query).
+     * @param type       cache category.
+     * @param loader     function that loads the products for the key on a miss.
+     * @param serializer function that encodes the products into the response body.
+     * @return serialized response body.
+     */
+    public byte[] getSerialized(String key, CacheType type, Function<String, List<ProductDTO>> loader,
+                                Function<List<ProductDTO>, byte[]> serializer) {
+        Region region = regions.get(type);
+        byte[] body = region.responses.getIfPresent(key);
+        if (body != null) {
+            List<ProductDTO> products = region.entries.asMap().get(key);
+            if (products != null) {
+                refreshIfStale(key, type, products, loader);
+            }
+            return body;
         }
-        return List.of();
+        List<ProductDTO> products = getFromCache(key, type, loader);
+        body = serializer.apply(products);
+        region.responses.put(key, body);
+        if (!isCached(region, key, products)) {
+            // the list was invalidated while serializing; do not keep a body built from it
+            region.responses.invalidate(key);
+        }
+        return body;
     }
 
     /**
@@ -48,15 +209,416 @@ public class ProductCache {
      * @param type     cache type.
      * @param products list of products to store.
      */
-    public void addToCache(String key, CacheType type, List<Product> products) {
-        cache.get(type).put(key, new ArrayList<>(products));
+    public void addToCache(String key, CacheType type, List<ProductDTO> products) {
+        Region region = regions.get(type);
+        region.responses.invalidate(key);
+        store(key, type, List.copyOf(products));
+    }
+
+    /**
+     * Drops every entry a product belongs to in any of the given states: entries that contain it,
+     * the category and brand entries of each state and the searches whose terms occur in its text.
+     * Pass the state before and after an update so both old and new entries are dropped.
+     *
+     * @param states product states affected by a write.
+     */
+    public void invalidateProduct(ProductSnapshot... states) {
+        for (ProductSnapshot state : states) {
+            if (state.id() != null) {
+                Set<EntryKey> keys = keysByProductId.remove(state.id());
+                if (keys != null) {
+                    keys.forEach(entryKey -> invalidate(entryKey.type(), entryKey.key()));
+                }
+            }
+            if (state.category() != null) {
+                String category = CacheKeys.category(state.category());
+                invalidateMatching(CacheType.CATEGORY, key -> CacheKeys.queryKey(key).equals(category));
+            }
+            if (state.brand() != null) {
+                String brand = CacheKeys.brand(state.brand());
+                invalidateMatching(CacheType.BRAND, key -> CacheKeys.queryKey(key).equals(brand));
+            }
+            invalidateMatching(CacheType.SEARCH, key -> CacheKeys.searchMayMatch(key, state.text()));
+        }
+    }
+
+    /**
+     * Runs a committed write's invalidation once more after the replica lag. Sessions other than
+     * the writer read from the replica, so until it has replayed the write a miss can load the old
+     * row and cache it for the whole time-to-live; repeating the invalidation bounds that to the lag.
+     *
+     * @param invalidation invalidation already run at commit.
+     */
+    public void invalidateAfterReplicaLag(Runnable invalidation) {
+        if (afterReplicaLag != null) {
+            afterReplicaLag.execute(invalidation);
+        }
     }
 
     /**
-     * Clears all cached data and resets statistics.
+     * Drops the regular and negative entries of a type whose keys match a predicate,
+     * e.g. every cached page of a category.
+     */
+    private void invalidateMatching(CacheType type, Predicate<String> matches) {
+        Region region = regions.get(type);
+        Stream.concat(region.entries.asMap().keySet().stream(), region.negatives.asMap().keySet().stream())
+                .filter(matches)
+                .toList()
+                .forEach(key -> invalidate(type, key));
+    }
+
+    /**
+     * Drops the listing pages whose content shifts when a product is inserted or removed.
+     * Pages are ordered by id, so these are the pages ending at or after the product id, the last
+     * (partial) page and the cached empty pages past the end; earlier pages stay cached.
+     *
+     * @param productId id of the inserted or removed product; null drops all pages.
+     */
+    public void invalidatePagesFrom(Long productId) {
+        if (productId == null) {
+            invalidateAll(CacheType.ALL);
+            return;
+        }
+        Region region = regions.get(CacheType.ALL);
+        region.entries.asMap().entrySet().stream()
+                .filter(entry -> shiftsOnWrite(entry.getKey(), entry.getValue(), productId))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(key -> invalidate(CacheType.ALL, key));
+        region.negatives.asMap().keySet().stream()
+                .toList()
+                .forEach(key -> invalidate(CacheType.ALL, key));
+    }
+
+    /**
+     * Clears all cached data of a single cache type.
+     *
+     * @param type cache type to clear.
+     */
+    public void invalidateAll(CacheType type) {
+        Region region = regions.get(type);
+        region.responses.invalidateAll();
+        region.entries.invalidateAll();
+        region.negatives.invalidateAll();
+    }
+
+    /**
+     * Clears all cached data.
      */
     public void clearAll() {
-        cache.values().forEach(Map::clear);
+        for (CacheType type : CacheType.values()) {
+            invalidateAll(type);
+        }
+    }
+
+    /**
+     * Returns hit, miss, eviction and load time counters for every cache type.
+     *
+     * @return statistics snapshot per cache type.
+     */
+    public Map<CacheType, CacheStats> getStatistics() {
+        Map<CacheType, CacheStats> statistics = new EnumMap<>(CacheType.class);
+        regions.forEach((type, region) -> statistics.put(type, region.entries.stats()));
+        return statistics;
+    }
+
+    /**
+     * Returns hit, miss and eviction counters of the serialized response tier for every cache type.
+     *
+     * @return statistics snapshot per cache type.
+     */
+    public Map<CacheType, CacheStats> getResponseStatistics() {
+        Map<CacheType, CacheStats> statistics = new EnumMap<>(CacheType.class);
+        regions.forEach((type, region) -> statistics.put(type, region.responses.stats()));
+        return statistics;
+    }
+
+    /**
+     * Returns hit, miss and eviction counters of the negative (empty result) entries for every cache type.
+     *
+     * @return statistics snapshot per cache type.
+     */
+    public Map<CacheType, CacheStats> getNegativeStatistics() {
+        Map<CacheType, CacheStats> statistics = new EnumMap<>(CacheType.class);
+        regions.forEach((type, region) -> statistics.put(type, region.negatives.stats()));
+        return statistics;
+    }
+
+    /**
+     * Returns in-flight, coalesced and background refresh counters for every cache type.
+     *
+     * @return load statistics snapshot per cache type.
+     */
+    public Map<CacheType, LoadStats> getLoadStatistics() {
+        Map<CacheType, LoadStats> statistics = new EnumMap<>(CacheType.class);
+        regions.forEach((type, region) -> statistics.put(type, new LoadStats(region.loadsInFlight.get(),
+                region.coalescedLoads.sum(), region.staleHits.sum(), region.refreshes.sum(),
+                region.rejectedRefreshes.sum())));
+        return statistics;
+    }
+
+    /**
+     * Returns the number of entries cached for a type after running pending evictions.
+     *
+     * @param type cache type.
+     * @return estimated number of cached keys.
+     */
+    public long size(CacheType type) {
+        Cache<String, List<ProductDTO>> entries = regions.get(type).entries;
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    /**
+     * Returns the number of keys cached with an empty result for a type after running pending evictions.
+     *
+     * @param type cache type.
+     * @return estimated number of negative entries.
+     */
+    public long negativeSize(CacheType type) {
+        Cache<String, Boolean> negatives = regions.get(type).negatives;
+        negatives.cleanUp();
+        return negatives.estimatedSize();
+    }
+
+    /**
+     * Loads a missing entry. The first caller becomes the leader and runs the loader; callers
+     * arriving while the load is running wait for the leader's result.
+     */
+    private List<ProductDTO> load(String key, CacheType type, Function<String, List<ProductDTO>> loader) {
+        Region region = regions.get(type);
+        EntryKey entryKey = new EntryKey(type, key);
+        CompletableFuture<List<ProductDTO>> leader = new CompletableFuture<>();
+        CompletableFuture<List<ProductDTO>> running = loadsInFlight.putIfAbsent(entryKey, leader);
+        if (running != null) {
+            region.coalescedLoads.increment();
+            return await(running);
+        }
+        region.loadsInFlight.incrementAndGet();
+        try {
+            List<ProductDTO> products = region.entries.asMap().get(key);
+            if (products == null && region.negatives.asMap().containsKey(key)) {
+                products = List.of();
+            }
+            if (products == null) {
+                products = loadAndStore(key, type, loader);
+            }
+            leader.complete(products);
+            return products;
+        } catch (RuntimeException e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadsInFlight.remove(entryKey, leader);
+            region.loadsInFlight.decrementAndGet();
+        }
+    }
+
+    private List<ProductDTO> loadAndStore(String key, CacheType type, Function<String, List<ProductDTO>> loader) {
+        Region region = regions.get(type);
+        long start = System.nanoTime();
+        List<ProductDTO> products;
+        try {
+            products = List.copyOf(loader.apply(key));
+        } catch (RuntimeException e) {
+            region.stats.recordLoadFailure(System.nanoTime() - start);
+            throw e;
+        }
+        region.stats.recordLoadSuccess(System.nanoTime() - start);
+        store(key, type, products);
+        return products;
+    }
+
+    /**
+     * Stores a list as a regular entry, or as a negative entry if it is empty. A regular entry is
+     * indexed before it is put and dropped again if a concurrent invalidation took one of its
+     * products out of the reverse index meanwhile, so an entry is never cached without being
+     * reachable from the index. This avoids {@code asMap().compute}, which would count a miss.
+     */
+    private void store(String key, CacheType type, List<ProductDTO> products) {
+        Region region = regions.get(type);
+        if (products.isEmpty()) {
+            region.entries.invalidate(key);
+            region.negatives.put(key, Boolean.TRUE);
+            return;
+        }
+        region.negatives.invalidate(key);
+        index(type, key, products);
+        region.entries.put(key, products);
+        if (!isIndexed(type, key, products)) {
+            invalidate(type, key);
+        }
+    }
+
+    /**
+     * Looks a key up in the regular entries first and then in the negative entries.
+     *
+     * @return the cached list, an empty list for a negative entry or null on a miss.
+     */
+    private static List<ProductDTO> lookup(Region region, String key) {
+        List<ProductDTO> products = region.entries.getIfPresent(key);
+        if (products != null) {
+            return products;
+        }
+        return region.negatives.getIfPresent(key) != null ? List.of() : null;
+    }
+
+    private static boolean shiftsOnWrite(String key, List<ProductDTO> page, long productId) {
+        Long lastId = page.get(page.size() - 1).getId();
+        return page.size() < CacheKeys.pageSize(key) || lastId == null || lastId >= productId;
+    }
+
+    private static boolean isCached(Region region, String key, List<ProductDTO> products) {
+        if (products.isEmpty()) {
+            return region.negatives.asMap().containsKey(key);
+        }
+        return region.entries.asMap().get(key) == products;
+    }
+
+    /**
+     * Starts a background reload of an entry older than the refresh interval of its region.
+     * The stale list stays cached until the reload replaces it; a reload is skipped when one is
+     * already running for the key or the executor is saturated.
+     */
+    private void refreshIfStale(String key, CacheType type, List<ProductDTO> stale, Function<String, List<ProductDTO>> loader) {
+        Region region = regions.get(type);
+        if (region.refreshAfterWrite.isZero() || !isOlderThan(region, key, region.refreshAfterWrite)) {
+            return;
+        }
+        region.staleHits.increment();
+        EntryKey entryKey = new EntryKey(type, key);
+        if (!refreshesInFlight.add(entryKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    region.refreshes.increment();
+                    refresh(key, type, stale, loader);
+                } finally {
+                    refreshesInFlight.remove(entryKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshesInFlight.remove(entryKey);
+            region.rejectedRefreshes.increment();
+        }
+    }
+
+    private void refresh(String key, CacheType type, List<ProductDTO> stale, Function<String, List<ProductDTO>> loader) {
+        Region region = regions.get(type);
+        long start = System.nanoTime();
+        List<ProductDTO> fresh;
+        try {
+            fresh = List.copyOf(loader.apply(key));
+        } catch (RuntimeException e) {
+            region.stats.recordLoadFailure(System.nanoTime() - start);
+            return;
+        }
+        region.stats.recordLoadSuccess(System.nanoTime() - start);
+        if (fresh.isEmpty()) {
+            if (region.entries.asMap().remove(key, stale)) {
+                region.negatives.put(key, Boolean.TRUE);
+                region.responses.invalidate(key);
+            }
+            return;
+        }
+        // replace only the stale list itself: an entry invalidated or reloaded meanwhile stays untouched
+        List<ProductDTO> current = region.entries.asMap().computeIfPresent(key, (k, cached) -> cached == stale ? fresh : cached);
+        if (current == fresh) {
+            region.responses.invalidate(key);
+            index(type, key, fresh);
+        }
+    }
+
+    private static boolean isOlderThan(Region region, String key, Duration age) {
+        return region.entries.policy().expireAfterWrite()
+                .flatMap((Policy.FixedExpiration<String, List<ProductDTO>> expiration) -> expiration.ageOf(key))
+                .map(entryAge -> entryAge.compareTo(age) > 0)
+                .orElse(false);
+    }
+
+    private static List<ProductDTO> await(CompletableFuture<List<ProductDTO>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void invalidate(CacheType type, String key) {
+        Region region = regions.get(type);
+        region.responses.invalidate(key);
+        region.entries.invalidate(key);
+        region.negatives.invalidate(key);
+    }
+
+    private void index(CacheType type, String key, List<ProductDTO> products) {
+        EntryKey entryKey = new EntryKey(type, key);
+        for (ProductDTO product : products) {
+            if (product.getId() != null) {
+                keysByProductId.computeIfAbsent(product.getId(), id -> ConcurrentHashMap.newKeySet()).add(entryKey);
+            }
+        }
+    }
+
+    private boolean isIndexed(CacheType type, String key, List<ProductDTO> products) {
+        EntryKey entryKey = new EntryKey(type, key);
+        for (ProductDTO product : products) {
+            Set<EntryKey> keys = product.getId() == null ? null : keysByProductId.get(product.getId());
+            if (product.getId() != null && (keys == null || !keys.contains(entryKey))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops the serialized response of a removed entry and removes the entry from the reverse
+     * index for the products that the key does not hold now. The listener runs asynchronously, so
+     * the key may have been stored again meanwhile; the ids of that list stay indexed. A replaced
+     * entry is skipped altogether: its replacement was indexed when it was stored, and an id left
+     * behind only costs a redundant invalidation.
+     */
+    private void onRemoval(CacheType type, String key, List<ProductDTO> products, RemovalCause cause) {
+        if (key == null || products == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        Region region = regions.get(type);
+        EntryKey entryKey = new EntryKey(type, key);
+        List<ProductDTO> current = region.entries.asMap().get(key);
+        if (current == null) {
+            region.responses.invalidate(key);
+        }
+        Set<Long> currentIds = current == null ? Set.of()
+                : current.stream().map(ProductDTO::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        for (ProductDTO product : products) {
+            if (product.getId() == null || currentIds.contains(product.getId())) {
+                continue;
+            }
+            keysByProductId.computeIfPresent(product.getId(), (id, keys) -> {
+                keys.remove(entryKey);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+        List<ProductDTO> stored = region.entries.asMap().get(key);
+        if (stored != null && stored != current) {
+            // stored again while the index was being cleaned
+            index(type, key, stored);
+        }
+    }
+
+    /**
+     * Drops the serialized empty response of an expired negative entry.
+     */
+    private void onNegativeRemoval(CacheType type, String key) {
+        Region region = regions.get(type);
+        if (key != null && !region.entries.asMap().containsKey(key) && !region.negatives.asMap().containsKey(key)) {
+            region.responses.invalidate(key);
+        }
     }
 
 }
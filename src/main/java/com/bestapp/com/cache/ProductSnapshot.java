@@ -0,0 +1,35 @@
+package com.bestapp.com.cache;
+
+import com.bestapp.com.model.Product;
+
+import java.util.Objects;
+
+/**
+ * Immutable copy of the product attributes that decide which {@link ProductCache} entries
+ * a product belongs to. Taken before and after a write to invalidate both old and new entries.
+ *
+ * @param price price of the product; not used by the cache, only by the price buckets of the
+ *              product facets. NaN if unknown.
+ * @param text searchable text of the product (name and description); null if unknown, in which
+ *             case the product may match any cached search.
+ */
+public record ProductSnapshot(Long id, String category, String brand, double price, String text) {
+
+    public ProductSnapshot(Long id, String category, String brand, double price) {
+        this(id, category, brand, price, null);
+    }
+
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(product.getId(), product.getCategory(), product.getBrand(), product.getPrice(),
+                product.getName() + " " + Objects.requireNonNullElse(product.getDescription(), ""));
+    }
+
+    /**
+     * State of a product whose attributes are unknown, e.g. one that was already deleted.
+     * Only the entries indexed under its id are affected.
+     */
+    public static ProductSnapshot ofId(Long id) {
+        return new ProductSnapshot(id, null, null, Double.NaN, "");
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.bestapp.com.catalog;
+
+import com.bestapp.com.dto.ProductDTO;
+
+/**
+ * A rebuild of an {@link InMemoryCatalog} that is fed the products one by one. The structure keeps
+ * serving its previous content until {@link #finish()}; writes made meanwhile are applied to both.
+ */
+public interface CatalogRebuild {
+
+    /**
+     * Adds the next product, in id order.
+     */
+    void add(ProductDTO product);
+
+    /**
+     * Replaces the content of the structure with the products added so far.
+     */
+    void finish();
+
+    /**
+     * Abandons the rebuild; the current content stays.
+     */
+    void abandon();
+
+}
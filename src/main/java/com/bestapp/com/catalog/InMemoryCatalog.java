@@ -0,0 +1,37 @@
+package com.bestapp.com.catalog;
+
+import com.bestapp.com.dto.ProductDTO;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory structure over all products that the {@link ProductCatalogLoader} rebuilds from the
+ * database.
+ */
+public interface InMemoryCatalog {
+
+    /**
+     * Starts replacing the content of the structure.
+     *
+     * @return rebuild to feed all products to.
+     * @throws IllegalStateException if the structure allows one rebuild at a time and one is running.
+     */
+    CatalogRebuild startRebuild();
+
+    /**
+     * Replaces the content of the structure with the given products.
+     *
+     * @param products all products in id order.
+     */
+    default void rebuild(Stream<ProductDTO> products) {
+        CatalogRebuild rebuild = startRebuild();
+        try {
+            products.forEach(rebuild::add);
+        } catch (RuntimeException e) {
+            rebuild.abandon();
+            throw e;
+        }
+        rebuild.finish();
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.bestapp.com.catalog;
+
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.repository.ProductFilter;
+import com.bestapp.com.repository.ProductRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds every {@link InMemoryCatalog} from the database in a single pass, streaming all products
+ * in id order from a server-side cursor inside a transaction and feeding each product to all of
+ * them.
+ * <p>
+ * The transaction is not read-only, so the products come from the primary: the loader runs right
+ * after an import commits, when a lagging replica could still miss the imported rows. If the pass
+ * fails, every structure keeps its previous content.
+ * </p>
+ */
+public class ProductCatalogLoader {
+
+    private final ProductRepository productRepository;
+    private final List<InMemoryCatalog> catalogs;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    /**
+     * @param catalogs            structures to rebuild.
+     * @param transactionTemplate read-write transaction the cursor lives in.
+     * @param fetchSize           number of rows fetched per round trip.
+     */
+    public ProductCatalogLoader(ProductRepository productRepository, List<InMemoryCatalog> catalogs,
+                                TransactionTemplate transactionTemplate, int fetchSize) {
+        this.productRepository = productRepository;
+        this.catalogs = List.copyOf(catalogs);
+        this.transactionTemplate = transactionTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Rebuilds all structures from all products.
+     */
+    public synchronized void load() {
+        List<CatalogRebuild> rebuilds = new ArrayList<>(catalogs.size());
+        try {
+            catalogs.forEach(catalog -> rebuilds.add(catalog.startRebuild()));
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ProductDTO> products = productRepository.streamAll(ProductFilter.all(), fetchSize)) {
+                    products.forEach(product -> rebuilds.forEach(rebuild -> rebuild.add(product)));
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuilds.forEach(CatalogRebuild::abandon);
+            throw e;
+        }
+        rebuilds.forEach(CatalogRebuild::finish);
+    }
+
+}
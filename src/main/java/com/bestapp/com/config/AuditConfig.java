@@ -0,0 +1,86 @@
+package com.bestapp.com.config;
+
+import com.bestapp.com.audit.AuditBackpressure;
+import com.bestapp.com.audit.AuditLogWriter;
+import com.bestapp.com.audit.AuditParameterEncoder;
+import com.bestapp.com.audit.AuditPartitionMaintainer;
+import com.bestapp.com.repository.AuditLogRepository;
+import com.bestapp.com.service.AuditLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+@Configuration
+@PropertySource("application.properties")
+@RequiredArgsConstructor
+public class AuditConfig {
+
+    private final Environment environment;
+
+    /**
+     * Background audit writer; closed before the data source on shutdown, so the queued events
+     * are still written.
+     */
+    @Bean(destroyMethod = "close")
+    public AuditLogWriter auditLogWriter(AuditLogService auditLogService, ObjectMapper objectMapper) {
+        AuditParameterEncoder parameterEncoder = new AuditParameterEncoder(objectMapper,
+                environment.getProperty("audit.parameters.max-string-length", Integer.class, 256),
+                environment.getProperty("audit.parameters.max-elements", Integer.class, 20),
+                Set.copyOf(List.of(environment.getProperty("audit.parameters.redacted-fields", String[].class,
+                        new String[0]))));
+        AuditLogWriter writer = new AuditLogWriter(auditLogService, parameterEncoder,
+                environment.getProperty("audit.queue.capacity", Integer.class, 10000),
+                environment.getProperty("audit.writer.batch-size", Integer.class, 50),
+                Duration.ofMillis(environment.getProperty("audit.writer.flush-interval-ms", Long.class, 200L)),
+                AuditBackpressure.fromProperty(environment.getProperty("audit.queue.backpressure")),
+                environment.getProperty("audit.queue.sample-rate", Integer.class, 10));
+        writer.start();
+        return writer;
+    }
+
+    @Bean
+    public AuditPartitionMaintainer auditPartitionMaintainer(AuditLogRepository auditLogRepository,
+                                                             PlatformTransactionManager transactionManager) {
+        return new AuditPartitionMaintainer(auditLogRepository, new TransactionTemplate(transactionManager),
+                environment.getProperty("audit.partitions.months-ahead", Integer.class, 3),
+                environment.getProperty("audit.retention-months", Integer.class, 12),
+                Clock.systemDefaultZone());
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler auditPartitionScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("audit-partitions-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+
+    /**
+     * Maintains the audit partitions once the context is refreshed, i.e. after the Liquibase
+     * migration, and periodically from then on.
+     */
+    @EventListener
+    public void startAuditPartitionMaintenance(ContextRefreshedEvent event) {
+        AuditPartitionMaintainer maintainer = event.getApplicationContext().getBean(AuditPartitionMaintainer.class);
+        maintainer.maintain();
+        Duration interval = Duration.ofHours(environment.getProperty("audit.partitions.maintenance-interval-hours",
+                Long.class, 24L));
+        auditPartitionScheduler().scheduleWithFixedDelay(maintainer::maintain, Instant.now().plus(interval), interval);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.bestapp.com.config;
+
+import com.bestapp.com.cache.CacheSettings;
+import com.bestapp.com.cache.CacheType;
+import com.bestapp.com.cache.ProductCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Configuration
+@PropertySource("application.properties")
+@RequiredArgsConstructor
+public class CacheConfig {
+
+    private final Environment environment;
+
+    @Bean
+    public ProductCache productCache() {
+        Map<CacheType, CacheSettings> settings = new EnumMap<>(CacheType.class);
+        for (CacheType type : CacheType.values()) {
+            String prefix = "cache." + type.name().toLowerCase(Locale.ROOT) + ".";
+            long maximumWeight = environment.getProperty(prefix + "maximum-weight", Long.class,
+                    CacheSettings.DEFAULT.maximumWeight());
+            long expireAfterWriteSeconds = environment.getProperty(prefix + "expire-after-write-seconds", Long.class,
+                    CacheSettings.DEFAULT.expireAfterWrite().toSeconds());
+            long maximumResponseBytes = environment.getProperty(prefix + "maximum-response-bytes", Long.class,
+                    CacheSettings.DEFAULT.maximumResponseBytes());
+            long refreshAfterWriteSeconds = environment.getProperty(prefix + "refresh-after-write-seconds", Long.class,
+                    CacheSettings.DEFAULT.refreshAfterWrite().toSeconds());
+            long negativeMaximumSize = environment.getProperty(prefix + "negative.maximum-size", Long.class,
+                    CacheSettings.DEFAULT.negativeMaximumSize());
+            long negativeExpireAfterWriteSeconds = environment.getProperty(prefix + "negative.expire-after-write-seconds",
+                    Long.class, CacheSettings.DEFAULT.negativeExpireAfterWrite().toSeconds());
+            settings.put(type, new CacheSettings(maximumWeight, Duration.ofSeconds(expireAfterWriteSeconds),
+                    maximumResponseBytes, Duration.ofSeconds(refreshAfterWriteSeconds),
+                    negativeMaximumSize, Duration.ofSeconds(negativeExpireAfterWriteSeconds)));
+        }
+        return new ProductCache(settings, cacheRefreshExecutor(),
+                Duration.ofMillis(environment.getProperty("spring.datasource.routing.sticky-window-ms", Long.class, 2_000L)));
+    }
+
+    /**
+     * Bounded executor for stale-while-revalidate reloads; when it is saturated the stale entry
+     * is simply served until it expires.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(environment.getProperty("cache.refresh.threads", Integer.class, 2));
+        executor.setMaxPoolSize(environment.getProperty("cache.refresh.threads", Integer.class, 2));
+        executor.setQueueCapacity(environment.getProperty("cache.refresh.queue-capacity", Integer.class, 100));
+        executor.setThreadNamePrefix("product-cache-refresh-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+}
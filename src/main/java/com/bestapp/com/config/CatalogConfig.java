@@ -0,0 +1,61 @@
+package com.bestapp.com.config;
+
+import com.bestapp.com.catalog.ProductCatalogLoader;
+import com.bestapp.com.engine.ProductFilterEngine;
+import com.bestapp.com.engine.ProductPriceIndex;
+import com.bestapp.com.facet.ProductFacets;
+import com.bestapp.com.repository.ProductRepository;
+import com.bestapp.com.suggest.ProductNameIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Configuration
+@PropertySource("application.properties")
+@RequiredArgsConstructor
+public class CatalogConfig {
+
+    private final Environment environment;
+
+    @Bean
+    public ProductNameIndex productNameIndex() {
+        return new ProductNameIndex();
+    }
+
+    @Bean
+    public ProductFilterEngine productFilterEngine() {
+        return new ProductFilterEngine();
+    }
+
+    @Bean
+    public ProductPriceIndex productPriceIndex() {
+        return new ProductPriceIndex();
+    }
+
+    @Bean
+    public ProductCatalogLoader productCatalogLoader(ProductRepository productRepository, ProductFacets productFacets,
+                                                     PlatformTransactionManager transactionManager) {
+        return new ProductCatalogLoader(productRepository,
+                List.of(productNameIndex(), productFilterEngine(), productPriceIndex(), productFacets),
+                new TransactionTemplate(transactionManager),
+                environment.getProperty("product.catalog.fetch-size", Integer.class, 1000));
+    }
+
+    /**
+     * Loads the in-memory catalog structures and counts the facets once the context is refreshed,
+     * i.e. after the Liquibase migration.
+     */
+    @EventListener
+    public void loadProductCatalog(ContextRefreshedEvent event) {
+        event.getApplicationContext().getBean(ProductCatalogLoader.class).load();
+    }
+
+}
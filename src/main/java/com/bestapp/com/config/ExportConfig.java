@@ -0,0 +1,30 @@
+package com.bestapp.com.config;
+
+import com.bestapp.com.exporter.ProductExporter;
+import com.bestapp.com.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@PropertySource("application.properties")
+@RequiredArgsConstructor
+public class ExportConfig {
+
+    private final Environment environment;
+
+    @Bean
+    public ProductExporter productExporter(ProductRepository productRepository, ObjectMapper objectMapper,
+                                           PlatformTransactionManager transactionManager) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new ProductExporter(productRepository, objectMapper, readOnly,
+                environment.getProperty("product.export.fetch-size", Integer.class, 1000));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.bestapp.com.config;
+
+import com.bestapp.com.facet.ProductFacets;
+import com.bestapp.com.facet.ProductFacetsReconciler;
+import com.bestapp.com.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Configuration
+@PropertySource("application.properties")
+@RequiredArgsConstructor
+public class FacetConfig {
+
+    private final Environment environment;
+
+    @Bean
+    public ProductFacets productFacets() {
+        return new ProductFacets(environment.getProperty("product.facets.price-bucket-width", Double.class, 100.0));
+    }
+
+    @Bean
+    public ProductFacetsReconciler productFacetsReconciler(ProductRepository productRepository,
+                                                           PlatformTransactionManager transactionManager) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transactionTemplate.setReadOnly(false);
+        return new ProductFacetsReconciler(productRepository, productFacets(), transactionTemplate);
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler facetReconciliationScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("product-facets-reconcile-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+
+    /**
+     * Recounts the facets periodically once the context is refreshed. The first count comes from
+     * the catalog pass of {@link CatalogConfig#loadProductCatalog}.
+     */
+    @EventListener
+    public void startFacetReconciliation(ContextRefreshedEvent event) {
+        ProductFacetsReconciler reconciler = event.getApplicationContext().getBean(ProductFacetsReconciler.class);
+        Duration interval = Duration.ofSeconds(environment.getProperty("product.facets.reconcile-interval-seconds",
+                Long.class, 300L));
+        facetReconciliationScheduler().scheduleWithFixedDelay(reconciler::reconcile, Instant.now().plus(interval), interval);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.bestapp.com.config;
+
+import com.bestapp.com.cache.ProductCache;
+import com.bestapp.com.importer.ProductCopyImporter;
+import com.bestapp.com.importer.ProductImporter;
+import com.bestapp.com.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+@Configuration
+@PropertySource("application.properties")
+@RequiredArgsConstructor
+public class ImportConfig {
+
+    private final Environment environment;
+
+    @Bean
+    public ProductImporter productImporter(ProductRepository productRepository, ProductCache productCache,
+                                           ObjectMapper objectMapper, Validator validator,
+                                           PlatformTransactionManager transactionManager) {
+        return new ProductImporter(productRepository, productCache, objectMapper, validator,
+                new TransactionTemplate(transactionManager),
+                environment.getProperty("product.import.chunk-size", Integer.class, 1000));
+    }
+
+    @Bean
+    public ProductCopyImporter productCopyImporter(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+                                                   ProductCache productCache, ObjectMapper objectMapper,
+                                                   Validator validator) {
+        return new ProductCopyImporter(dataSource, entityManagerFactory, productCache, objectMapper, validator,
+                environment.getProperty("product.import.copy-chunk-size", Integer.class, 50000));
+    }
+
+}
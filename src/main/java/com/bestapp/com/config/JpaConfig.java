@@ -1,19 +1,31 @@
 package com.bestapp.com.config;
 
+import com.bestapp.com.datasource.ConnectionPoolMetrics;
+import com.bestapp.com.datasource.ReadWriteRoutingDataSource;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpSession;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @PropertySource("application.properties")
@@ -27,16 +39,94 @@ public class JpaConfig {
         this.environment = environment;
     }
 
+    /**
+     * Routing data source: read-only transactions go to the replica pool, everything else to the
+     * primary pool. The lazy proxy defers taking a physical connection to the first statement, when
+     * the read-only flag of the transaction is already set.
+     */
     @Bean
+    @Primary
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("org.postgresql.Driver");
-        dataSource.setUrl(environment.getProperty("spring.datasource.url"));
-        dataSource.setUsername(environment.getProperty("spring.datasource.username"));
-        dataSource.setPassword(environment.getProperty("spring.datasource.password"));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource());
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
         return dataSource;
     }
 
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource() {
+        return new ReadWriteRoutingDataSource(primaryDataSource(), replicaDataSource(), JpaConfig::currentSessionId,
+                Duration.ofMillis(environment.getProperty("spring.datasource.routing.sticky-window-ms", Long.class, 2_000L)));
+    }
+
+    @Bean
+    public HikariDataSource primaryDataSource() {
+        return pool("product-catalog", "spring.datasource", false);
+    }
+
+    /**
+     * Read-only pool of the replica; settings not given under {@code spring.datasource.replica}
+     * are taken from the primary.
+     */
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        return pool("product-catalog-replica", "spring.datasource.replica", true);
+    }
+
+    /**
+     * Pooled data source: connections are opened once and reused by transactions, validated on
+     * borrow and retired after their lifetime. Prepared statements are cached by the driver.
+     */
+    private HikariDataSource pool(String poolName, String prefix, boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName("org.postgresql.Driver");
+        config.setReadOnly(readOnly);
+        config.setJdbcUrl(property(prefix, "url", String.class, null));
+        config.setUsername(property(prefix, "username", String.class, null));
+        config.setPassword(property(prefix, "password", String.class, null));
+        config.setMinimumIdle(property(prefix, "pool.minimum-idle", Integer.class, 5));
+        config.setMaximumPoolSize(property(prefix, "pool.maximum-pool-size", Integer.class, 20));
+        config.setMaxLifetime(property(prefix, "pool.max-lifetime-ms", Long.class, 1_800_000L));
+        config.setIdleTimeout(property(prefix, "pool.idle-timeout-ms", Long.class, 600_000L));
+        config.setConnectionTimeout(property(prefix, "pool.connection-timeout-ms", Long.class, 30_000L));
+        config.setValidationTimeout(property(prefix, "pool.validation-timeout-ms", Long.class, 5_000L));
+        config.setKeepaliveTime(property(prefix, "pool.keepalive-time-ms", Long.class, 300_000L));
+        config.setLeakDetectionThreshold(property(prefix, "pool.leak-detection-threshold-ms", Long.class, 60_000L));
+        config.addDataSourceProperty("prepareThreshold", property(prefix, "pool.prepare-threshold", String.class, "5"));
+        config.addDataSourceProperty("preparedStatementCacheQueries",
+                property(prefix, "pool.prepared-statement-cache-queries", String.class, "256"));
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB",
+                property(prefix, "pool.prepared-statement-cache-size-mib", String.class, "5"));
+        config.addDataSourceProperty("reWriteBatchedInserts",
+                property(prefix, "pool.rewrite-batched-inserts", String.class, "true"));
+        config.setMetricsTrackerFactory(new ConnectionPoolMetrics());
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Reads {@code prefix.key}, falling back to the primary {@code spring.datasource.key}.
+     */
+    private <T> T property(String prefix, String key, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(prefix + "." + key, type);
+        return value != null ? value : environment.getProperty("spring.datasource." + key, type, defaultValue);
+    }
+
+    /**
+     * Id of the HTTP session of the current request, without creating a session.
+     */
+    private static String currentSessionId() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpSession session = attributes.getRequest().getSession(false);
+            return session == null ? null : session.getId();
+        }
+        return null;
+    }
+
+    /**
+     * Entity manager factory with a Caffeine-backed second-level and query cache. Cached entities
+     * are marked {@code @Cacheable}; the cache regions are sized in {@code application.conf}.
+     */
     @Bean
     @DependsOn("liquibase")
     public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
@@ -44,6 +134,19 @@ public class JpaConfig {
         factoryBean.setDataSource(dataSource());
         factoryBean.setPackagesToScan("com.bestapp.com.model");
         factoryBean.setJpaVendorAdapter(jpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.ofEntries(
+                Map.entry("hibernate.jdbc.batch_size", environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", "50")),
+                Map.entry("hibernate.order_inserts", "true"),
+                Map.entry("hibernate.order_updates", "true"),
+                Map.entry("jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE"),
+                Map.entry("hibernate.cache.use_second_level_cache",
+                        environment.getProperty("spring.jpa.properties.hibernate.cache.use_second_level_cache", "true")),
+                Map.entry("hibernate.cache.use_query_cache",
+                        environment.getProperty("spring.jpa.properties.hibernate.cache.use_query_cache", "true")),
+                Map.entry("hibernate.cache.region.factory_class", "jcache"),
+                Map.entry("hibernate.javax.cache.provider", CaffeineCachingProvider.class.getName()),
+                Map.entry("hibernate.javax.cache.missing_cache_strategy", "create-warn"),
+                Map.entry("hibernate.generate_statistics", "true")));
         return factoryBean;
     }
 
@@ -15,13 +15,15 @@ public class MainWebAppInitializer implements WebApplicationInitializer {
     @Override
     public void onStartup(ServletContext container) throws ServletException {
         FilterRegistration.Dynamic authFilter = container.addFilter("authorizationFilter", new AuthorizationFilter());
-        authFilter.addMappingForUrlPatterns(null, false, "/api/products/*");
+        authFilter.setAsyncSupported(true);
+        authFilter.addMappingForUrlPatterns(null, false, "/api/products/*", "/api/audit/*");
 
         AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
         context.scan("com.bestapp.com.config");
         container.addListener(new ContextLoaderListener(context));
         ServletRegistration.Dynamic dispatcher = container.addServlet("mvc", new DispatcherServlet(context));
         dispatcher.setLoadOnStartup(1);
+        dispatcher.setAsyncSupported(true);
         dispatcher.addMapping("/");
     }
 
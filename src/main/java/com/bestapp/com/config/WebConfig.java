@@ -1,9 +1,17 @@
 package com.bestapp.com.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -11,13 +19,47 @@ import java.util.List;
 
 @EnableWebMvc
 @Configuration
+@PropertySource("application.properties")
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
-    @Override
-    public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
+    private final Environment environment;
+
+    /**
+     * Shared mapper, also used to pre-serialize cached responses so they match the converter output.
+     */
+    @Bean
+    public ObjectMapper objectMapper() {
         Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
                 .indentOutput(true);
-        converters.add(new MappingJackson2HttpMessageConverter(builder.build()));
+        return builder.build();
+    }
+
+    @Override
+    public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ByteArrayHttpMessageConverter());
+        converters.add(new MappingJackson2HttpMessageConverter(objectMapper()));
+    }
+
+    /**
+     * Streamed responses such as the product export are written on a bounded pool, with a timeout
+     * long enough for a full catalog.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+        configurer.setDefaultTimeout(environment.getProperty("product.export.timeout-ms", Long.class, 600_000L));
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(environment.getProperty("product.export.threads", Integer.class, 4));
+        executor.setMaxPoolSize(environment.getProperty("product.export.threads", Integer.class, 4));
+        executor.setQueueCapacity(environment.getProperty("product.export.queue-capacity", Integer.class, 16));
+        executor.setThreadNamePrefix("product-export-");
+        executor.initialize();
+        return executor;
     }
 
 }
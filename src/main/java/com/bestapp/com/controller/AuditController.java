@@ -0,0 +1,110 @@
+package com.bestapp.com.controller;
+
+import com.bestapp.com.audit.AuditLogWriter;
+import com.bestapp.com.audit.AuditWriterStats;
+import com.bestapp.com.dto.AuditPageDTO;
+import com.bestapp.com.dto.AuditStatsDTO;
+import com.bestapp.com.service.AuditLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controller for the audit log and the audit pipeline monitoring
+ * @see AuditLogService
+ * @see AuditLogWriter
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/audit")
+@Tag(name = "Audit", description = "API for audit log queries and audit pipeline monitoring")
+public class AuditController {
+
+    private final AuditLogWriter auditLogWriter;
+    private final AuditLogService auditLogService;
+
+    /**
+     * Getting audit events, newest first.
+     * @param username user who made the calls.
+     * @param method name of the called service method.
+     * @param from earliest timestamp (inclusive), ISO date-time.
+     * @param to latest timestamp (exclusive), ISO date-time.
+     * @param limit page size, at most 50.
+     * @param cursor cursor of the requested page returned with the previous page.
+     * @return the response with the audit events page and the next page cursor in JSON format
+     * and the HTTP 200 status code (Ok).<br>
+     * If the cursor or the time window is invalid the HTTP status code 400 (Bad request).
+     */
+    @Operation(
+            summary = "Find audit events",
+            description = "Audit events filtered by user, method and time window, page by page",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Audit events successfully found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = AuditPageDTO.class)
+                            )),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or time window", content = @Content(schema = @Schema(hidden = true)))
+            }
+    )
+    @GetMapping
+    public ResponseEntity<AuditPageDTO> getAuditLogs(@RequestParam(value = "username", required = false) String username,
+                                                     @RequestParam(value = "method", required = false) String method,
+                                                     @RequestParam(value = "from", required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                     @RequestParam(value = "to", required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                     @RequestParam(value = "limit", required = false) @Positive Integer limit,
+                                                     @RequestParam(value = "cursor", required = false) String cursor) {
+        return ResponseEntity.ok(auditLogService.findAuditLogs(username, method, from, to, cursor, limit));
+    }
+
+    /**
+     * Getting audit queue and writer statistics.
+     * @return the response with the statistics in JSON format and the HTTP 200 status code (Ok).<br>
+     */
+    @Operation(
+            summary = "Get audit pipeline statistics",
+            description = "Queue depth, dropped events and batch write time histogram",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Statistics successfully collected",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = AuditStatsDTO.class)
+                            ))
+            }
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<AuditStatsDTO> getStatistics() {
+        AuditWriterStats stats = auditLogWriter.snapshot();
+        AuditStatsDTO dto = new AuditStatsDTO();
+        dto.setQueueDepth(stats.queueDepth());
+        dto.setQueueCapacity(stats.queueCapacity());
+        dto.setBackpressure(stats.backpressure().name());
+        dto.setAcceptedEvents(stats.acceptedEvents());
+        dto.setDroppedEvents(stats.droppedEvents());
+        dto.setWrittenEvents(stats.writtenEvents());
+        dto.setFailedEvents(stats.failedEvents());
+        dto.setFlushCount(stats.flushCount());
+        dto.setAverageFlushNanos(stats.flushCount() == 0 ? 0 : (double) stats.totalFlushNanos() / stats.flushCount());
+        dto.setMaxFlushNanos(stats.maxFlushNanos());
+        dto.setFlushHistogram(stats.flushHistogram());
+        return ResponseEntity.ok(dto);
+    }
+
+}
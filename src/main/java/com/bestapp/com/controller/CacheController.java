@@ -0,0 +1,134 @@
+package com.bestapp.com.controller;
+
+import com.bestapp.com.cache.CacheType;
+import com.bestapp.com.cache.LoadStats;
+import com.bestapp.com.cache.ProductCache;
+import com.bestapp.com.dto.CacheStatsDTO;
+import com.bestapp.com.dto.SecondLevelCacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Controller for the product cache and Hibernate second-level cache monitoring
+ * @see ProductCache
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache", description = "API for product cache monitoring")
+public class CacheController {
+
+    private final ProductCache productCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Getting cache statistics per cache type.
+     * @return the response with the statistics in JSON format and the HTTP 200 status code (Ok).<br>
+     */
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Hit, miss, eviction, negative entry, load time and load coalescing counters per cache type",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Statistics successfully collected",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CacheStatsDTO.class)
+                            ))
+            }
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<Map<CacheType, CacheStatsDTO>> getStatistics() {
+        Map<CacheType, CacheStatsDTO> statistics = new EnumMap<>(CacheType.class);
+        Map<CacheType, CacheStats> responseStatistics = productCache.getResponseStatistics();
+        Map<CacheType, CacheStats> negativeStatistics = productCache.getNegativeStatistics();
+        Map<CacheType, LoadStats> loadStatistics = productCache.getLoadStatistics();
+        productCache.getStatistics().forEach((type, stats) -> statistics.put(type,
+                toDTO(type, stats, responseStatistics.get(type), negativeStatistics.get(type), loadStatistics.get(type))));
+        return ResponseEntity.ok(statistics);
+    }
+
+    /**
+     * Getting Hibernate second-level and query cache statistics per region.
+     * @return the response with the statistics in JSON format and the HTTP 200 status code (Ok).<br>
+     */
+    @Operation(
+            summary = "Get second-level cache statistics",
+            description = "Size, hit, miss and put counters per Hibernate entity, query and timestamps cache region",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Statistics successfully collected",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = SecondLevelCacheStatsDTO.class)
+                            ))
+            }
+    )
+    @GetMapping("/second-level/stats")
+    public ResponseEntity<Map<String, SecondLevelCacheStatsDTO>> getSecondLevelStatistics() {
+        Statistics hibernateStatistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, SecondLevelCacheStatsDTO> statistics = new TreeMap<>();
+        for (String region : hibernateStatistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = hibernateStatistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                statistics.put(region, toDTO(regionStatistics));
+            }
+        }
+        return ResponseEntity.ok(statistics);
+    }
+
+    private static SecondLevelCacheStatsDTO toDTO(CacheRegionStatistics stats) {
+        SecondLevelCacheStatsDTO dto = new SecondLevelCacheStatsDTO();
+        long requests = stats.getHitCount() + stats.getMissCount();
+        dto.setSize(stats.getElementCountInMemory());
+        dto.setHitCount(stats.getHitCount());
+        dto.setMissCount(stats.getMissCount());
+        dto.setHitRate(requests == 0 ? 1.0 : (double) stats.getHitCount() / requests);
+        dto.setPutCount(stats.getPutCount());
+        return dto;
+    }
+
+    private CacheStatsDTO toDTO(CacheType type, CacheStats stats, CacheStats responseStats, CacheStats negativeStats,
+                              LoadStats loadStats) {
+        CacheStatsDTO dto = new CacheStatsDTO();
+        dto.setSize(productCache.size(type));
+        dto.setHitCount(stats.hitCount());
+        dto.setMissCount(stats.missCount());
+        dto.setHitRate(stats.hitRate());
+        dto.setEvictionCount(stats.evictionCount());
+        dto.setLoadSuccessCount(stats.loadSuccessCount());
+        dto.setLoadFailureCount(stats.loadFailureCount());
+        dto.setTotalLoadTimeNanos(stats.totalLoadTime());
+        dto.setAverageLoadPenaltyNanos(stats.averageLoadPenalty());
+        dto.setResponseHitCount(responseStats.hitCount());
+        dto.setResponseMissCount(responseStats.missCount());
+        dto.setNegativeSize(productCache.negativeSize(type));
+        dto.setNegativeHitCount(negativeStats.hitCount());
+        dto.setNegativeMissCount(negativeStats.missCount());
+        dto.setLoadsInFlight(loadStats.loadsInFlight());
+        dto.setCoalescedLoads(loadStats.coalescedLoads());
+        dto.setStaleHits(loadStats.staleHits());
+        dto.setRefreshes(loadStats.refreshes());
+        dto.setRejectedRefreshes(loadStats.rejectedRefreshes());
+        return dto;
+    }
+
+}
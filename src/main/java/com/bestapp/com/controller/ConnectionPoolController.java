@@ -0,0 +1,106 @@
+package com.bestapp.com.controller;
+
+import com.bestapp.com.datasource.ConnectionPoolMetrics;
+import com.bestapp.com.datasource.ConnectionPoolStats;
+import com.bestapp.com.datasource.DataSourceRole;
+import com.bestapp.com.datasource.ReadWriteRoutingDataSource;
+import com.bestapp.com.datasource.RoutingStats;
+import com.bestapp.com.dto.ConnectionPoolStatsDTO;
+import com.bestapp.com.dto.DataSourceRoutingStatsDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for the database connection pool and read/write routing monitoring
+ * @see ConnectionPoolMetrics
+ * @see ReadWriteRoutingDataSource
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/datasource")
+@Tag(name = "Data source", description = "API for database connection pool and routing monitoring")
+public class ConnectionPoolController {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    /**
+     * Getting connection pool statistics.
+     * @param pool {@code primary} (default) or {@code replica}
+     * @return the response with the statistics in JSON format and the HTTP 200 status code (Ok).<br>
+     * If the pool is unknown the HTTP status code 400 (Bad request).
+     */
+    @Operation(
+            summary = "Get connection pool statistics",
+            description = "Active, idle and pending connections and connection acquire time histogram",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Statistics successfully collected",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ConnectionPoolStatsDTO.class)
+                            )),
+                    @ApiResponse(responseCode = "400", description = "Unknown pool", content = @Content(schema = @Schema(hidden = true)))
+            }
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<ConnectionPoolStatsDTO> getStatistics(@RequestParam(value = "pool", required = false) String pool) {
+        HikariDataSource dataSource = routingDataSource.pool(DataSourceRole.fromParameter(pool));
+        ConnectionPoolMetrics metrics = (ConnectionPoolMetrics) dataSource.getMetricsTrackerFactory();
+        ConnectionPoolStats stats = metrics.snapshot(dataSource.getMinimumIdle(), dataSource.getMaximumPoolSize());
+        ConnectionPoolStatsDTO dto = new ConnectionPoolStatsDTO();
+        dto.setActiveConnections(stats.active());
+        dto.setIdleConnections(stats.idle());
+        dto.setTotalConnections(stats.total());
+        dto.setPendingThreads(stats.pending());
+        dto.setMinimumIdle(stats.minimumIdle());
+        dto.setMaximumPoolSize(stats.maximumPoolSize());
+        dto.setAcquireCount(stats.acquireCount());
+        dto.setAcquireTimeoutCount(stats.acquireTimeouts());
+        dto.setAverageAcquireNanos(stats.acquireCount() == 0 ? 0 : (double) stats.totalAcquireNanos() / stats.acquireCount());
+        dto.setMaxAcquireNanos(stats.maxAcquireNanos());
+        dto.setAcquireHistogram(stats.acquireHistogram());
+        dto.setTotalUsageMillis(stats.totalUsageMillis());
+        return ResponseEntity.ok(dto);
+    }
+
+    /**
+     * Getting read/write routing statistics.
+     * @return the response with the statistics in JSON format and the HTTP 200 status code (Ok).<br>
+     */
+    @Operation(
+            summary = "Get routing statistics",
+            description = "Connections routed to the primary and to the replica, and read-only connections kept on the primary after a write",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Statistics successfully collected",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = DataSourceRoutingStatsDTO.class)
+                            ))
+            }
+    )
+    @GetMapping("/routing/stats")
+    public ResponseEntity<DataSourceRoutingStatsDTO> getRoutingStatistics() {
+        RoutingStats stats = routingDataSource.snapshot();
+        long total = stats.primaryConnections() + stats.replicaConnections() + stats.stickyConnections();
+        DataSourceRoutingStatsDTO dto = new DataSourceRoutingStatsDTO();
+        dto.setPrimaryConnections(stats.primaryConnections());
+        dto.setReplicaConnections(stats.replicaConnections());
+        dto.setStickyConnections(stats.stickyConnections());
+        dto.setStickySessions(stats.stickySessions());
+        dto.setReplicaRatio(total == 0 ? 0 : (double) stats.replicaConnections() / total);
+        return ResponseEntity.ok(dto);
+    }
+
+}
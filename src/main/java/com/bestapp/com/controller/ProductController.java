@@ -2,7 +2,15 @@ package com.bestapp.com.controller;
 
 import com.bestapp.com.dto.CreateOrUpdateProductDTO;
 import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductFacetsDTO;
+import com.bestapp.com.dto.ProductImportResultDTO;
+import com.bestapp.com.dto.ProductPageDTO;
+import com.bestapp.com.dto.ProductSuggestionDTO;
+import com.bestapp.com.engine.ProductFilterCriteria;
+import com.bestapp.com.importer.ProductImportFormat;
+import com.bestapp.com.importer.ProductImportMode;
 import com.bestapp.com.service.ProductService;
+import com.bestapp.com.service.ProductSort;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,12 +20,18 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controller for the products
@@ -30,6 +44,8 @@ import java.util.List;
 @Tag(name = "Products", description = "API for products management")
 public class ProductController {
 
+    private static final int EXPORT_BUFFER_BYTES = 64 * 1024;
+
     private final ProductService productService;
 
     /**
@@ -55,16 +71,98 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProductDTO);
     }
 
+    /**
+     * Importing products in bulk.
+     * The body is read as a stream and saved in chunks, each chunk in its own transaction.
+     * @param contentType {@code application/x-ndjson} or {@code text/csv} with a header line.
+     * @param mode {@code batch} (default) for batched inserts, or {@code copy} for a COPY-based load that
+     *             updates existing products with the same name and brand.
+     * @param body products, one per line.
+     * @return the response with the number of imported products and the import rate in JSON format
+     * and the HTTP 201 status code (Created).<br>
+     * If a row or the content type is invalid the HTTP status code 400 (Bad request);
+     * chunks imported before an invalid row stay imported.
+     */
+    @Operation(
+            summary = "Import products",
+            description = "Bulk import of products from an NDJSON or CSV body by batched inserts or COPY",
+            responses = {
+                    @ApiResponse(responseCode = "201",
+                            description = "Products were successfully imported",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ProductImportResultDTO.class)
+                            )),
+                    @ApiResponse(responseCode = "400", description = "Invalid row, content type or mode", content = @Content(schema = @Schema(hidden = true)))
+            }
+    )
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ProductImportResultDTO> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                 @RequestParam(value = "mode", required = false) String mode,
+                                                                 InputStream body) {
+        ProductImportResultDTO result = productService.importProducts(body, ProductImportFormat.fromContentType(contentType),
+                ProductImportMode.fromParameter(mode));
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    /**
+     * Exporting all products as NDJSON.
+     * The products are streamed from a database cursor in id order while the response is written,
+     * so the export works for a catalog of any size.
+     * @param category category to export; omitted for all categories
+     * @param brand brand to export; omitted for all brands
+     * @param acceptEncoding the response is gzip-compressed if it accepts {@code gzip}
+     * @return the response streaming one product per line and the HTTP 200 status code (Ok).
+     */
+    @Operation(
+            summary = "Export products",
+            description = "Stream all products, optionally of one category and brand, as NDJSON",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Products are streamed",
+                            content = @Content(
+                                    mediaType = "application/x-ndjson",
+                                    schema = @Schema(implementation = ProductDTO.class)
+                            ))
+            }
+    )
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(value = "category", required = false) String category,
+                                                                @RequestParam(value = "brand", required = false) String brand,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(output, EXPORT_BUFFER_BYTES);
+                productService.exportProducts(category, brand, compressed);
+                compressed.finish();
+            } else {
+                productService.exportProducts(category, brand, new BufferedOutputStream(output, EXPORT_BUFFER_BYTES));
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     /**
      * Getting all products pageable.
-     * @param pageNumber page number
+     * Without a page number the products are paginated by a cursor: the first page is returned
+     * together with an opaque cursor of the next page, which is passed back to get that page.
+     * @param pageNumber page number; omitted for cursor pagination
      * @param pageSize page size number
-     * @return the response with the found product list in JSON format and the HTTP 200 status code (Ok).<br>
-     * If the product list not found the HTTP status code 404 (Not found).
+     * @param cursor cursor of the requested page returned with the previous page
+     * @param sort order of the cursor pagination: {@code id} (default) or {@code price}
+     * @return the response with the found product list (or the product page with the next cursor)
+     * in JSON format and the HTTP 200 status code (Ok).<br>
+     * If the product list not found the HTTP status code 404 (Not found).<br>
+     * If the cursor or the order is invalid the HTTP status code 400 (Bad request).
      */
     @Operation(
             summary = "Find all products pageable",
-            description = "Search all products pageable",
+            description = "Search all products by page number or by cursor",
             responses = {
                     @ApiResponse(responseCode = "200",
                             description = "All products successfully found",
@@ -73,12 +171,18 @@ public class ProductController {
                                     schema = @Schema(implementation = ProductDTO.class)
                             )),
                     @ApiResponse(responseCode = "200", description = "All products successfully found", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or sort", content = @Content(schema = @Schema(hidden = true))),
                     @ApiResponse(responseCode = "404", description = "Products not found", content = @Content(schema = @Schema(hidden = true)))
             }
     )
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts(@RequestParam("pageNumber") @Positive Integer pageNumber,
-                                                     @RequestParam("pageSize") @Positive Integer pageSize) {
+    public ResponseEntity<?> getAllProducts(@RequestParam(value = "pageNumber", required = false) @Positive Integer pageNumber,
+                                            @RequestParam("pageSize") @Positive Integer pageSize,
+                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                            @RequestParam(value = "sort", required = false) String sort) {
+        if (pageNumber == null) {
+            return ResponseEntity.ok(productService.findAllProducts(ProductSort.fromParameter(sort), cursor, pageSize));
+        }
         List<ProductDTO> foundProductDTOS = productService.findAllProducts(pageNumber, pageSize);
         if (foundProductDTOS == null) {
             return ResponseEntity.notFound().build();
@@ -89,59 +193,77 @@ public class ProductController {
     /**
      * Getting product by brand.
      * @param brand product brand.
-     * @return the response with the found product in JSON format and the HTTP 200 status code (Ok).<br>
-     * If the product not found the HTTP status code 404 (Not found).
+     * @param limit page size, at most 50.
+     * @param cursor cursor of the requested page returned with the previous page.
+     * @param sort page order: {@code id} (default), {@code price}, {@code name} or {@code stock}.
+     * @return the response with the found products page and the next page cursor in JSON format
+     * and the HTTP 200 status code (Ok).<br>
+     * If the product not found the HTTP status code 404 (Not found).<br>
+     * If the cursor or the order is invalid the HTTP status code 400 (Bad request).
      */
     @Operation(
             summary = "Find product by brand",
-            description = "Search by product brand",
+            description = "Search by product brand, page by page",
             responses = {
                     @ApiResponse(responseCode = "200",
                             description = "Product was successfully found",
                             content = @Content(
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                    schema = @Schema(implementation = ProductDTO.class)
+                                    schema = @Schema(implementation = ProductPageDTO.class)
                             )),
                     @ApiResponse(responseCode = "200", description = "Product was successfully found", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or sort", content = @Content(schema = @Schema(hidden = true))),
                     @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(schema = @Schema(hidden = true)))
             }
     )
     @GetMapping("/brand")
-    public ResponseEntity<List<ProductDTO>> getProductsByBrand(@RequestParam("brand") @NotBlank String brand) {
-        List<ProductDTO> foundProductDTOS = productService.getProductsByBrand(brand);
-        if (foundProductDTOS == null) {
+    public ResponseEntity<byte[]> getProductsByBrand(@RequestParam("brand") @NotBlank String brand,
+                                                     @RequestParam(value = "limit", required = false) @Positive Integer limit,
+                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                     @RequestParam(value = "sort", required = false) String sort) {
+        byte[] foundProducts = productService.getProductsByBrandAsJson(brand, ProductSort.fromParameter(sort), cursor, limit);
+        if (foundProducts == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(foundProductDTOS);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(foundProducts);
     }
 
     /**
      * Getting product by category.
      * @param category product category.
-     * @return the response with the found product in JSON format and the HTTP 200 status code (Ok).<br>
-     * If the product not found the HTTP status code 404 (Not found).
+     * @param limit page size, at most 50.
+     * @param cursor cursor of the requested page returned with the previous page.
+     * @param sort page order: {@code id} (default), {@code price}, {@code name} or {@code stock}.
+     * @return the response with the found products page and the next page cursor in JSON format
+     * and the HTTP 200 status code (Ok).<br>
+     * If the product not found the HTTP status code 404 (Not found).<br>
+     * If the cursor or the order is invalid the HTTP status code 400 (Bad request).
      */
     @Operation(
             summary = "Find product by category",
-            description = "Search by product category",
+            description = "Search by product category, page by page",
             responses = {
                     @ApiResponse(responseCode = "200",
                             description = "Product was successfully found",
                             content = @Content(
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                    schema = @Schema(implementation = ProductDTO.class)
+                                    schema = @Schema(implementation = ProductPageDTO.class)
                             )),
                     @ApiResponse(responseCode = "200", description = "Product was successfully found", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or sort", content = @Content(schema = @Schema(hidden = true))),
                     @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(schema = @Schema(hidden = true)))
             }
     )
     @GetMapping("/category")
-    public ResponseEntity<List<ProductDTO>> getProductsByCategory(@RequestParam("category") @NotBlank String category) {
-        List<ProductDTO> foundProductDTOS = productService.getProductsByCategory(category);
-        if (foundProductDTOS == null) {
+    public ResponseEntity<byte[]> getProductsByCategory(@RequestParam("category") @NotBlank String category,
+                                                        @RequestParam(value = "limit", required = false) @Positive Integer limit,
+                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam(value = "sort", required = false) String sort) {
+        byte[] foundProducts = productService.getProductsByCategoryAsJson(category, ProductSort.fromParameter(sort), cursor, limit);
+        if (foundProducts == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(foundProductDTOS);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(foundProducts);
     }
 
 
@@ -149,31 +271,164 @@ public class ProductController {
      * Getting products by price range.
      * @param min minimal product price.
      * @param max maximal product price.
-     * @return the response with the found products in JSON format and the HTTP 200 status code (Ok).<br>
-     * If the products not found the HTTP status code 404 (Not found).
+     * @param limit page size, at most 50.
+     * @param cursor cursor of the requested page returned with the previous page.
+     * @param sort page order: {@code id} (default), {@code price}, {@code name} or {@code stock}.
+     * @return the response with the found products page and the next page cursor in JSON format
+     * and the HTTP 200 status code (Ok).<br>
+     * If the products not found the HTTP status code 404 (Not found).<br>
+     * If the cursor or the order is invalid the HTTP status code 400 (Bad request).
      */
     @Operation(
             summary = "Find products by price range",
-            description = "Search products by price range",
+            description = "Search products by price range, page by page",
             responses = {
                     @ApiResponse(responseCode = "200",
                             description = "Product(s) was(were) successfully found",
                             content = @Content(
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                    schema = @Schema(implementation = ProductDTO.class)
+                                    schema = @Schema(implementation = ProductPageDTO.class)
                             )),
                     @ApiResponse(responseCode = "200", description = "Product(s) was(were) successfully found", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or sort", content = @Content(schema = @Schema(hidden = true))),
                     @ApiResponse(responseCode = "404", description = "Products not found", content = @Content(schema = @Schema(hidden = true)))
             }
     )
     @GetMapping("/price-range")
-    public ResponseEntity<List<ProductDTO>> getProductsByPriceRange(@RequestParam("min") @Positive Double min,
-                                                                    @RequestParam("max") @Positive Double max) {
-        List<ProductDTO> foundProductDTOS = productService.getProductsByPriceRange(min, max);
-        if (foundProductDTOS == null) {
+    public ResponseEntity<byte[]> getProductsByPriceRange(@RequestParam("min") @Positive Double min,
+                                                          @RequestParam("max") @Positive Double max,
+                                                          @RequestParam(value = "limit", required = false) @Positive Integer limit,
+                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(value = "sort", required = false) String sort) {
+        byte[] foundProducts = productService.getProductsByPriceRangeAsJson(min, max, ProductSort.fromParameter(sort), cursor, limit);
+        if (foundProducts == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(foundProductDTOS);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(foundProducts);
+    }
+
+    /**
+     * Full-text search of products by name and description.
+     * The query supports quoted phrases, {@code or} and {@code -} to exclude a word; matches in the
+     * name rank higher than matches in the description.
+     * @param q search query.
+     * @param limit page size, at most 50.
+     * @param cursor cursor of the requested page returned with the previous page.
+     * @return the response with the found products page, best matches first, and the next page cursor
+     * in JSON format and the HTTP 200 status code (Ok).<br>
+     * If the query is blank or too long, or the cursor is invalid the HTTP status code 400 (Bad request).
+     */
+    @Operation(
+            summary = "Search products",
+            description = "Full-text search by product name and description, ranked and page by page",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Search was successfully performed",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ProductPageDTO.class)
+                            )),
+                    @ApiResponse(responseCode = "400", description = "Invalid query or cursor", content = @Content(schema = @Schema(hidden = true)))
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<byte[]> searchProducts(@RequestParam("q") @NotBlank String q,
+                                                 @RequestParam(value = "limit", required = false) @Positive Integer limit,
+                                                 @RequestParam(value = "cursor", required = false) String cursor) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(productService.searchProductsAsJson(q, cursor, limit));
+    }
+
+    /**
+     * Search-as-you-type suggestions by product name.
+     * Served from an in-memory index kept in sync with product writes, without a database query.
+     * @param prefix typed text; every word must start a word of the name.
+     * @param limit number of suggestions, 10 by default and at most 50.
+     * @return the response with the matching products, best match first, in JSON format
+     * and the HTTP 200 status code (Ok).<br>
+     * If the prefix is blank the HTTP status code 400 (Bad request).
+     */
+    @Operation(
+            summary = "Suggest products",
+            description = "Typeahead suggestions of product names",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Suggestions were successfully found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ProductSuggestionDTO.class)
+                            )),
+                    @ApiResponse(responseCode = "400", description = "Blank prefix", content = @Content(schema = @Schema(hidden = true)))
+            }
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(@RequestParam("prefix") @NotBlank String prefix,
+                                                                      @RequestParam(value = "limit", required = false) @Positive Integer limit) {
+        return ResponseEntity.ok(productService.suggestProducts(prefix, limit));
+    }
+
+    /**
+     * Getting products by a combination of filters.
+     * Served by an in-memory filter engine kept in sync with product writes, without a database query.
+     * @param categories accepted categories; omitted for all categories.
+     * @param brands accepted brands; omitted for all brands.
+     * @param minPrice minimal product price.
+     * @param maxPrice maximal product price.
+     * @param minStock minimal stock quantity.
+     * @param maxStock maximal stock quantity.
+     * @param limit page size, at most 50.
+     * @param cursor cursor of the requested page returned with the previous page.
+     * @return the response with the matching products page in id order and the next page cursor
+     * in JSON format and the HTTP 200 status code (Ok).<br>
+     * If the cursor is invalid the HTTP status code 400 (Bad request).
+     */
+    @Operation(
+            summary = "Filter products",
+            description = "Filter products by categories, brands, price and stock at once, page by page",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Product(s) was(were) successfully found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ProductPageDTO.class)
+                            )),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(hidden = true)))
+            }
+    )
+    @GetMapping("/filter")
+    public ResponseEntity<ProductPageDTO> filterProducts(@RequestParam(value = "category", required = false) List<String> categories,
+                                                         @RequestParam(value = "brand", required = false) List<String> brands,
+                                                         @RequestParam(value = "minPrice", required = false) Double minPrice,
+                                                         @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+                                                         @RequestParam(value = "minStock", required = false) Integer minStock,
+                                                         @RequestParam(value = "maxStock", required = false) Integer maxStock,
+                                                         @RequestParam(value = "limit", required = false) @Positive Integer limit,
+                                                         @RequestParam(value = "cursor", required = false) String cursor) {
+        ProductFilterCriteria criteria = new ProductFilterCriteria(categories, brands, minPrice, maxPrice, minStock, maxStock);
+        return ResponseEntity.ok(productService.filterProducts(criteria, cursor, limit));
+    }
+
+    /**
+     * Facets of the catalog.
+     * Counted in memory as products are written and periodically recounted from the database.
+     * @return the response with the number of products per category and per brand and the price
+     * histogram in JSON format and the HTTP 200 status code (Ok).
+     */
+    @Operation(
+            summary = "Get product facets",
+            description = "Product counts per category, per brand and per price bucket",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Facets were successfully counted",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ProductFacetsDTO.class)
+                            ))
+            }
+    )
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsDTO> getFacets() {
+        return ResponseEntity.ok(productService.getFacets());
     }
 
     /**
@@ -0,0 +1,103 @@
+package com.bestapp.com.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the metrics of the Hikari connection pool without a metrics registry.
+ * <p>
+ * Hikari reports every connection acquire, usage and timeout to the tracker created here;
+ * acquire times are counted in a fixed-bucket histogram, so recording is a couple of
+ * {@link LongAdder} increments on the request thread. Pool sizes are read from the
+ * {@link PoolStats} Hikari passes in, which refreshes them at most once per second.
+ * </p>
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private static final long[] ACQUIRE_BUCKET_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    private final LongAdder[] acquireBuckets = new LongAdder[ACQUIRE_BUCKET_MILLIS.length + 1];
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder totalAcquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder totalUsageMillis = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    public ConnectionPoolMetrics() {
+        for (int i = 0; i < acquireBuckets.length; i++) {
+            acquireBuckets[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                recordAcquire(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                totalUsageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                acquireTimeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Counts a connection acquire in the histogram.
+     *
+     * @param nanos time the caller waited for the connection.
+     */
+    public void recordAcquire(long nanos) {
+        acquireCount.increment();
+        totalAcquireNanos.add(nanos);
+        maxAcquireNanos.accumulate(nanos);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < ACQUIRE_BUCKET_MILLIS.length && millis >= ACQUIRE_BUCKET_MILLIS[bucket]) {
+            bucket++;
+        }
+        acquireBuckets[bucket].increment();
+    }
+
+    /**
+     * Returns the current pool state and the acquire counters.
+     *
+     * @param minimumIdle     configured minimum number of idle connections.
+     * @param maximumPoolSize configured maximum number of connections.
+     * @return statistics snapshot; pool sizes are zero until the pool is started.
+     */
+    public ConnectionPoolStats snapshot(int minimumIdle, int maximumPoolSize) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < ACQUIRE_BUCKET_MILLIS.length; i++) {
+            histogram.put("<" + ACQUIRE_BUCKET_MILLIS[i] + "ms", acquireBuckets[i].sum());
+        }
+        histogram.put(">=" + ACQUIRE_BUCKET_MILLIS[ACQUIRE_BUCKET_MILLIS.length - 1] + "ms",
+                acquireBuckets[ACQUIRE_BUCKET_MILLIS.length].sum());
+        PoolStats stats = poolStats;
+        return new ConnectionPoolStats(
+                stats == null ? 0 : stats.getActiveConnections(),
+                stats == null ? 0 : stats.getIdleConnections(),
+                stats == null ? 0 : stats.getTotalConnections(),
+                stats == null ? 0 : stats.getPendingThreads(),
+                minimumIdle, maximumPoolSize,
+                acquireCount.sum(), acquireTimeouts.sum(), totalAcquireNanos.sum(), maxAcquireNanos.get(),
+                histogram, totalUsageMillis.sum());
+    }
+
+}
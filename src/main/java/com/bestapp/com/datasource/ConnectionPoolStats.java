@@ -0,0 +1,24 @@
+package com.bestapp.com.datasource;
+
+import java.util.Map;
+
+/**
+ * Snapshot of the connection pool state and of the connection acquire times.
+ *
+ * @param active              connections currently borrowed by transactions.
+ * @param idle                connections waiting in the pool.
+ * @param total               all open connections.
+ * @param pending             threads waiting for a connection.
+ * @param minimumIdle         configured minimum number of idle connections.
+ * @param maximumPoolSize     configured maximum number of connections.
+ * @param acquireCount        number of connections handed out.
+ * @param acquireTimeouts     number of requests that timed out waiting for a connection.
+ * @param totalAcquireNanos   total time spent waiting for connections.
+ * @param maxAcquireNanos     longest wait for a connection.
+ * @param acquireHistogram    number of acquires per upper bound in milliseconds; the last bucket is unbounded.
+ * @param totalUsageMillis    total time connections were borrowed.
+ */
+public record ConnectionPoolStats(int active, int idle, int total, int pending, int minimumIdle, int maximumPoolSize,
+                                  long acquireCount, long acquireTimeouts, long totalAcquireNanos, long maxAcquireNanos,
+                                  Map<String, Long> acquireHistogram, long totalUsageMillis) {
+}
@@ -0,0 +1,40 @@
+package com.bestapp.com.datasource;
+
+import com.bestapp.com.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Database instances the routing data source chooses between.
+ */
+public enum DataSourceRole {
+
+    /**
+     * Read-write primary; receives all writes.
+     */
+    PRIMARY,
+
+    /**
+     * Streaming replica of the primary; receives read-only transactions.
+     */
+    REPLICA;
+
+    /**
+     * Resolves the value of a {@code pool} request parameter.
+     *
+     * @param parameter parameter value, {@code primary} if null.
+     * @return matching role.
+     * @throws BadRequestException if the value is not a supported role.
+     */
+    public static DataSourceRole fromParameter(String parameter) {
+        if (parameter == null) {
+            return PRIMARY;
+        }
+        try {
+            return valueOf(parameter.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported pool: " + parameter);
+        }
+    }
+
+}
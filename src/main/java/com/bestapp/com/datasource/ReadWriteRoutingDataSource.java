@@ -0,0 +1,108 @@
+package com.bestapp.com.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary pool.
+ * <p>
+ * The target is chosen when a connection is requested, so the data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager then begins the transaction on a proxy and the physical connection is only taken on
+ * the first statement, once the read-only flag of the transaction is known.
+ * </p>
+ * <p>
+ * For read-your-writes, a session that committed a read-write transaction keeps reading from the
+ * primary for the sticky window, until the replica has replayed its write. A zero window disables
+ * stickiness.
+ * </p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final long MAXIMUM_STICKY_SESSIONS = 100_000;
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final Supplier<String> sessionKey;
+    private final Cache<String, Boolean> stickySessions;
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder stickyConnections = new LongAdder();
+
+    /**
+     * @param sessionKey   identifies the session of the current request; returns null outside a session.
+     * @param stickyWindow time a session keeps reading from the primary after it wrote.
+     */
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica, Supplier<String> sessionKey,
+                                      Duration stickyWindow) {
+        this.primary = primary;
+        this.replica = replica;
+        this.sessionKey = sessionKey;
+        this.stickySessions = stickyWindow.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_STICKY_SESSIONS)
+                .expireAfterWrite(stickyWindow)
+                .build();
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryConnections.increment();
+            rememberWrite();
+            return DataSourceRole.PRIMARY;
+        }
+        String session = stickySessions == null ? null : sessionKey.get();
+        if (session != null && stickySessions.getIfPresent(session) != null) {
+            stickyConnections.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        replicaConnections.increment();
+        return DataSourceRole.REPLICA;
+    }
+
+    /**
+     * Starts the sticky window of the current session once its read-write transaction commits.
+     */
+    private void rememberWrite() {
+        if (stickySessions == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String session = sessionKey.get();
+        if (session == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickySessions.put(session, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Returns the pool of a role.
+     */
+    public HikariDataSource pool(DataSourceRole role) {
+        return role == DataSourceRole.PRIMARY ? primary : replica;
+    }
+
+    /**
+     * Returns the routing counters.
+     */
+    public RoutingStats snapshot() {
+        return new RoutingStats(primaryConnections.sum(), replicaConnections.sum(), stickyConnections.sum(),
+                stickySessions == null ? 0 : stickySessions.estimatedSize());
+    }
+
+}
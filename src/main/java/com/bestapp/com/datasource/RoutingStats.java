@@ -0,0 +1,13 @@
+package com.bestapp.com.datasource;
+
+/**
+ * Counters of the routing decisions of {@link ReadWriteRoutingDataSource}.
+ *
+ * @param primaryConnections connections of read-write transactions and of work outside a transaction.
+ * @param replicaConnections connections of read-only transactions sent to the replica.
+ * @param stickyConnections  connections of read-only transactions kept on the primary because their
+ *                           session wrote within the sticky window.
+ * @param stickySessions     sessions currently inside their sticky window.
+ */
+public record RoutingStats(long primaryConnections, long replicaConnections, long stickyConnections, long stickySessions) {
+}
@@ -0,0 +1,30 @@
+package com.bestapp.com.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@code AuditLogDTO} is a Data Transfer Object (DTO) that represents one audited service call:
+ * who called which method with which parameters (a JSON array), when, how long it took, its outcome and the
+ * number of returned elements.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogDTO {
+
+    private Long id;
+    private String username;
+    private String methodName;
+    @JsonRawValue
+    private String parameters;
+    private LocalDateTime timestamp;
+    private Long durationNanos;
+    private String outcome;
+    private Integer resultSize;
+
+}
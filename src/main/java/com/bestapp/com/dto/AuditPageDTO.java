@@ -0,0 +1,21 @@
+package com.bestapp.com.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * {@code AuditPageDTO} is a Data Transfer Object (DTO) that represents one page of audit events,
+ * newest first, and the opaque cursor of the next page, which is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditPageDTO {
+
+    private List<AuditLogDTO> items;
+    private String nextCursor;
+
+}
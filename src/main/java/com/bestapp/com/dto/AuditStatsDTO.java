@@ -0,0 +1,27 @@
+package com.bestapp.com.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * {@code AuditStatsDTO} is a Data Transfer Object (DTO) that represents the state of the
+ * asynchronous audit pipeline: the depth of the queue, the events dropped under backpressure
+ * and the histogram of the time spent writing a batch.
+ */
+@Data
+public class AuditStatsDTO {
+
+    private int queueDepth;
+    private int queueCapacity;
+    private String backpressure;
+    private long acceptedEvents;
+    private long droppedEvents;
+    private long writtenEvents;
+    private long failedEvents;
+    private long flushCount;
+    private double averageFlushNanos;
+    private long maxFlushNanos;
+    private Map<String, Long> flushHistogram;
+
+}
@@ -0,0 +1,34 @@
+package com.bestapp.com.dto;
+
+import lombok.Data;
+
+/**
+ * {@code CacheStatsDTO} is a Data Transfer Object (DTO) that represents the statistics
+ * of a single product cache region: its size, hits, misses, evictions and loading time,
+ * plus the hits and misses of its serialized response tier and of its cached empty results,
+ * and its load coalescing and background refresh counters.
+ */
+@Data
+public class CacheStatsDTO {
+
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long loadSuccessCount;
+    private long loadFailureCount;
+    private long totalLoadTimeNanos;
+    private double averageLoadPenaltyNanos;
+    private long responseHitCount;
+    private long responseMissCount;
+    private long negativeSize;
+    private long negativeHitCount;
+    private long negativeMissCount;
+    private long loadsInFlight;
+    private long coalescedLoads;
+    private long staleHits;
+    private long refreshes;
+    private long rejectedRefreshes;
+
+}
@@ -0,0 +1,28 @@
+package com.bestapp.com.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * {@code ConnectionPoolStatsDTO} is a Data Transfer Object (DTO) that represents the state of
+ * the database connection pool: active, idle and pending connections, its configured limits
+ * and the histogram of the time spent waiting for a connection.
+ */
+@Data
+public class ConnectionPoolStatsDTO {
+
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int pendingThreads;
+    private int minimumIdle;
+    private int maximumPoolSize;
+    private long acquireCount;
+    private long acquireTimeoutCount;
+    private double averageAcquireNanos;
+    private long maxAcquireNanos;
+    private Map<String, Long> acquireHistogram;
+    private long totalUsageMillis;
+
+}
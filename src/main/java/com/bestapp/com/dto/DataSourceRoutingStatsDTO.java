@@ -0,0 +1,19 @@
+package com.bestapp.com.dto;
+
+import lombok.Data;
+
+/**
+ * {@code DataSourceRoutingStatsDTO} is a Data Transfer Object (DTO) that represents how many
+ * connections were routed to the primary and to the replica, and how many read-only ones stayed
+ * on the primary for read-your-writes.
+ */
+@Data
+public class DataSourceRoutingStatsDTO {
+
+    private long primaryConnections;
+    private long replicaConnections;
+    private long stickyConnections;
+    private long stickySessions;
+    private double replicaRatio;
+
+}
@@ -0,0 +1,20 @@
+package com.bestapp.com.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@code PriceBucketDTO} is a Data Transfer Object (DTO) that represents one bar of the price
+ * histogram: the number of products priced from {@code from} (inclusive) to {@code to} (exclusive).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBucketDTO {
+
+    private double from;
+    private double to;
+    private long count;
+
+}
@@ -1,6 +1,8 @@
 package com.bestapp.com.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * {@code ProductDTO} is a Data Transfer Object (DTO) that represents a product in the system.
@@ -9,6 +11,8 @@ import lombok.Data;
  * different layers of the application.
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductDTO {
 
     private Long id;
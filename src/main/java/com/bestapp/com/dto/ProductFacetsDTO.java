@@ -0,0 +1,24 @@
+package com.bestapp.com.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ProductFacetsDTO} is a Data Transfer Object (DTO) that represents the facets of the
+ * catalog: the number of products per category and per brand, most frequent first, and the
+ * price histogram in ascending price order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDTO {
+
+    private Map<String, Long> categories;
+    private Map<String, Long> brands;
+    private List<PriceBucketDTO> priceBuckets;
+
+}
@@ -0,0 +1,22 @@
+package com.bestapp.com.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@code ProductImportResultDTO} is a Data Transfer Object (DTO) that represents the outcome of
+ * a bulk product import: the number of imported rows and committed chunks, the elapsed time and
+ * the resulting throughput.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResultDTO {
+
+    private long importedRows;
+    private int chunks;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+}
@@ -0,0 +1,22 @@
+package com.bestapp.com.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * {@code ProductPageDTO} is a Data Transfer Object (DTO) that represents one page of a
+ * cursor-paginated product listing: the products of the page and the opaque cursor of the
+ * next page, which is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageDTO {
+
+    private List<ProductDTO> items;
+    private String nextCursor;
+
+}
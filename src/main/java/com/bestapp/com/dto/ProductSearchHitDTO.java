@@ -0,0 +1,27 @@
+package com.bestapp.com.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * {@code ProductSearchHitDTO} is a {@link ProductDTO} found by a full-text search, together with
+ * its relevance to the search query. Higher ranks are better matches; matches in the name weigh
+ * more than matches in the description.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class ProductSearchHitDTO extends ProductDTO {
+
+    private float rank;
+
+    public ProductSearchHitDTO(Long id, String name, String description, double price, String category,
+                               String brand, int stockQuantity, float rank) {
+        super(id, name, description, price, category, brand, stockQuantity);
+        this.rank = rank;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.bestapp.com.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@code ProductSuggestionDTO} is a Data Transfer Object (DTO) that represents a search-as-you-type
+ * suggestion: the id and the name of a product whose name matches the typed text.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionDTO {
+
+    private Long id;
+    private String name;
+
+}
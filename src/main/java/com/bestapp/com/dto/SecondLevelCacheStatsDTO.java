@@ -0,0 +1,18 @@
+package com.bestapp.com.dto;
+
+import lombok.Data;
+
+/**
+ * {@code SecondLevelCacheStatsDTO} is a Data Transfer Object (DTO) that represents the statistics
+ * of a single Hibernate cache region: its entry count, hits, misses and puts.
+ */
+@Data
+public class SecondLevelCacheStatsDTO {
+
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long putCount;
+
+}
@@ -0,0 +1,25 @@
+package com.bestapp.com.engine;
+
+import java.util.List;
+
+/**
+ * Conditions of a combined product filter. A product matches if its category is one of the
+ * categories, its brand is one of the brands and its price and stock are within the bounds;
+ * an empty list or a null bound does not restrict. Categories and brands ignore case.
+ *
+ * @param categories accepted categories.
+ * @param brands     accepted brands.
+ * @param minPrice   minimal price (inclusive).
+ * @param maxPrice   maximal price (inclusive).
+ * @param minStock   minimal stock quantity (inclusive).
+ * @param maxStock   maximal stock quantity (inclusive).
+ */
+public record ProductFilterCriteria(List<String> categories, List<String> brands, Double minPrice, Double maxPrice,
+                                    Integer minStock, Integer maxStock) {
+
+    public ProductFilterCriteria {
+        categories = categories == null ? List.of() : List.copyOf(categories);
+        brands = brands == null ? List.of() : List.copyOf(brands);
+    }
+
+}
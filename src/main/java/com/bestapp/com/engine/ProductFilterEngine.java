@@ -0,0 +1,387 @@
+package com.bestapp.com.engine;
+
+import com.bestapp.com.catalog.CatalogRebuild;
+import com.bestapp.com.catalog.InMemoryCatalog;
+import com.bestapp.com.dto.ProductDTO;
+import org.roaringbitmap.BitSetUtil;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory columnar copy of the products that answers combined filters without a database query.
+ * <p>
+ * Every product is a row. Category and brand are dictionary-encoded: each distinct value, ignoring
+ * case, gets a code and a compressed (Roaring) bitmap of its rows, so a condition on them is an OR
+ * of the bitmaps of the accepted values ANDed with the other conditions. Price and stock are
+ * primitive arrays. When most rows are still candidates a range condition scans the whole array
+ * in a branch-free loop into a bit mask; otherwise only the candidate rows are checked.
+ * </p>
+ * <p>
+ * Rows are kept in id order, so a page continues after the last id found by binary search.
+ * Products created concurrently commit out of id order, so a product whose id is not above the
+ * last one is appended to an unordered tail whose matches are sorted and merged into the page.
+ * An update rewrites its row in place and a deletion leaves a hole; the rows are rewritten once
+ * most of them are holes or the tail outgrows a fraction of the rows. Reads share a lock.
+ * </p>
+ */
+public class ProductFilterEngine implements InMemoryCatalog {
+
+    private static final int INITIAL_ROWS = 1024;
+    private static final int REWRITE_MIN_ROWS = 1024;
+
+    /**
+     * Candidates below one row in this many are checked one by one instead of scanning the column.
+     */
+    private static final int SCAN_RATIO = 32;
+
+    /**
+     * The rows are rewritten once the unordered tail exceeds one row in this many.
+     */
+    private static final int TAIL_RATIO = 32;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns();
+    private List<Consumer<Columns>> writesDuringRebuild;
+
+    /**
+     * Adds a product or replaces the row of an indexed product.
+     *
+     * @param product product with its id.
+     */
+    public void put(ProductDTO product) {
+        write(target -> target.put(product));
+    }
+
+    /**
+     * Removes a product; unknown ids are ignored.
+     *
+     * @param productId product id.
+     */
+    public void remove(long productId) {
+        write(target -> target.remove(productId));
+    }
+
+    /**
+     * Starts replacing the content of the engine. The engine keeps serving the previous content
+     * while the new one is built; writes made meanwhile are applied to both.
+     */
+    @Override
+    public CatalogRebuild startRebuild() {
+        lock.writeLock().lock();
+        try {
+            if (writesDuringRebuild != null) {
+                throw new IllegalStateException("A rebuild of the engine is already running");
+            }
+            writesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Columns rebuilt = new Columns();
+        return new CatalogRebuild() {
+
+            @Override
+            public void add(ProductDTO product) {
+                rebuilt.put(product);
+            }
+
+            @Override
+            public void finish() {
+                lock.writeLock().lock();
+                try {
+                    writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                    columns = rebuilt.needsRewrite() ? rebuilt.rewritten() : rebuilt.optimized();
+                    writesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            @Override
+            public void abandon() {
+                lock.writeLock().lock();
+                try {
+                    writesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the products matching all conditions in id order.
+     *
+     * @param criteria conditions.
+     * @param afterId  id of the last product of the previous page; null for the first page.
+     * @param limit    maximal number of products.
+     * @return matching products of the page.
+     */
+    public List<ProductDTO> filter(ProductFilterCriteria criteria, Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            return columns.filter(criteria, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of products.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Columns> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(columns);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+            if (columns.needsRewrite()) {
+                columns = columns.rewritten();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rows and dictionaries of one generation of the engine.
+     */
+    private static final class Columns {
+
+        private final Map<String, Integer> categoryCodes = new HashMap<>();
+        private final Map<String, Integer> brandCodes = new HashMap<>();
+        private final List<RoaringBitmap> categoryRows = new ArrayList<>();
+        private final List<RoaringBitmap> brandRows = new ArrayList<>();
+        private final Map<Long, Integer> rowsByProductId = new HashMap<>();
+        private final RoaringBitmap live = new RoaringBitmap();
+        private long[] ids = new long[INITIAL_ROWS];
+        private int[] categories = new int[INITIAL_ROWS];
+        private int[] brands = new int[INITIAL_ROWS];
+        private double[] prices = new double[INITIAL_ROWS];
+        private int[] stocks = new int[INITIAL_ROWS];
+        private ProductDTO[] products = new ProductDTO[INITIAL_ROWS];
+        private int rowCount;
+
+        /**
+         * Number of leading rows in id order; the rows after them form the unordered tail.
+         */
+        private int orderedRows;
+
+        void put(ProductDTO product) {
+            Integer row = rowsByProductId.get(product.getId());
+            if (row != null) {
+                unindex(row);
+            } else {
+                row = append(product.getId());
+            }
+            categories[row] = code(categoryCodes, categoryRows, product.getCategory());
+            categoryRows.get(categories[row]).add(row);
+            brands[row] = code(brandCodes, brandRows, product.getBrand());
+            brandRows.get(brands[row]).add(row);
+            prices[row] = product.getPrice();
+            stocks[row] = product.getStockQuantity();
+            products[row] = product;
+        }
+
+        void remove(long productId) {
+            Integer row = rowsByProductId.remove(productId);
+            if (row != null) {
+                unindex(row);
+                live.remove(row);
+                products[row] = null;
+            }
+        }
+
+        boolean needsRewrite() {
+            return rowCount - orderedRows > Math.max(REWRITE_MIN_ROWS, rowCount / TAIL_RATIO)
+                    || (rowCount >= REWRITE_MIN_ROWS && live.getCardinality() < rowCount / 2);
+        }
+
+        /**
+         * Copies the live rows in id order into new columns without holes.
+         */
+        Columns rewritten() {
+            Columns rewritten = new Columns();
+            live.stream()
+                    .mapToObj(row -> products[row])
+                    .sorted(Comparator.comparing(ProductDTO::getId))
+                    .forEachOrdered(rewritten::put);
+            return rewritten.optimized();
+        }
+
+        /**
+         * Converts long runs of rows in the bitmaps to run containers.
+         */
+        Columns optimized() {
+            categoryRows.forEach(RoaringBitmap::runOptimize);
+            brandRows.forEach(RoaringBitmap::runOptimize);
+            live.runOptimize();
+            return this;
+        }
+
+        List<ProductDTO> filter(ProductFilterCriteria criteria, Long afterId, int limit) {
+            RoaringBitmap matches = live.clone();
+            if (!criteria.categories().isEmpty()) {
+                matches.and(anyOf(categoryCodes, categoryRows, criteria.categories()));
+            }
+            if (!criteria.brands().isEmpty()) {
+                matches.and(anyOf(brandCodes, brandRows, criteria.brands()));
+            }
+            if (criteria.minPrice() != null || criteria.maxPrice() != null) {
+                matches = withinPrice(matches,
+                        criteria.minPrice() == null ? Double.NEGATIVE_INFINITY : criteria.minPrice(),
+                        criteria.maxPrice() == null ? Double.POSITIVE_INFINITY : criteria.maxPrice());
+            }
+            if (criteria.minStock() != null || criteria.maxStock() != null) {
+                matches = withinStock(matches,
+                        criteria.minStock() == null ? Integer.MIN_VALUE : criteria.minStock(),
+                        criteria.maxStock() == null ? Integer.MAX_VALUE : criteria.maxStock());
+            }
+            List<ProductDTO> page = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+            PeekableIntIterator rows = matches.getIntIterator();
+            if (afterId != null) {
+                rows.advanceIfNeeded(firstRowAfter(afterId));
+            }
+            List<ProductDTO> tail = tailMatches(matches, afterId);
+            int next = 0;
+            while (page.size() < limit) {
+                boolean ordered = rows.hasNext() && rows.peekNext() < orderedRows;
+                if (!ordered && next == tail.size()) {
+                    break;
+                }
+                if (ordered && (next == tail.size() || ids[rows.peekNext()] < tail.get(next).getId())) {
+                    page.add(products[rows.next()]);
+                } else {
+                    page.add(tail.get(next++));
+                }
+            }
+            return page;
+        }
+
+        /**
+         * Returns the matching products of the unordered tail after an id, in id order.
+         */
+        private List<ProductDTO> tailMatches(RoaringBitmap matches, Long afterId) {
+            if (orderedRows == rowCount) {
+                return List.of();
+            }
+            List<ProductDTO> tail = new ArrayList<>();
+            PeekableIntIterator rows = matches.getIntIterator();
+            rows.advanceIfNeeded(orderedRows);
+            while (rows.hasNext()) {
+                int row = rows.next();
+                if (afterId == null || ids[row] > afterId) {
+                    tail.add(products[row]);
+                }
+            }
+            tail.sort(Comparator.comparing(ProductDTO::getId));
+            return tail;
+        }
+
+        private RoaringBitmap withinPrice(RoaringBitmap candidates, double min, double max) {
+            if ((long) candidates.getCardinality() * SCAN_RATIO < rowCount) {
+                RoaringBitmap matching = new RoaringBitmap();
+                PeekableIntIterator rows = candidates.getIntIterator();
+                while (rows.hasNext()) {
+                    int row = rows.next();
+                    if (prices[row] >= min && prices[row] <= max) {
+                        matching.add(row);
+                    }
+                }
+                return matching;
+            }
+            long[] mask = new long[(rowCount + 63) >>> 6];
+            for (int row = 0; row < rowCount; row++) {
+                double price = prices[row];
+                mask[row >>> 6] |= (price >= min & price <= max ? 1L : 0L) << row;
+            }
+            return RoaringBitmap.and(candidates, BitSetUtil.bitmapOf(mask));
+        }
+
+        private RoaringBitmap withinStock(RoaringBitmap candidates, int min, int max) {
+            if ((long) candidates.getCardinality() * SCAN_RATIO < rowCount) {
+                RoaringBitmap matching = new RoaringBitmap();
+                PeekableIntIterator rows = candidates.getIntIterator();
+                while (rows.hasNext()) {
+                    int row = rows.next();
+                    if (stocks[row] >= min && stocks[row] <= max) {
+                        matching.add(row);
+                    }
+                }
+                return matching;
+            }
+            long[] mask = new long[(rowCount + 63) >>> 6];
+            for (int row = 0; row < rowCount; row++) {
+                int stock = stocks[row];
+                mask[row >>> 6] |= (stock >= min & stock <= max ? 1L : 0L) << row;
+            }
+            return RoaringBitmap.and(candidates, BitSetUtil.bitmapOf(mask));
+        }
+
+        /**
+         * Returns the first ordered row whose id is greater than the given id. Holes keep their
+         * ids, so the ordered part of the id column stays sorted.
+         */
+        private int firstRowAfter(long id) {
+            int index = Arrays.binarySearch(ids, 0, orderedRows, id);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        private int append(long id) {
+            if (rowCount == ids.length) {
+                int capacity = rowCount * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                brands = Arrays.copyOf(brands, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                stocks = Arrays.copyOf(stocks, capacity);
+                products = Arrays.copyOf(products, capacity);
+            }
+            if (orderedRows == rowCount && (rowCount == 0 || id > ids[rowCount - 1])) {
+                orderedRows++;
+            }
+            int row = rowCount++;
+            ids[row] = id;
+            rowsByProductId.put(id, row);
+            live.add(row);
+            return row;
+        }
+
+        private void unindex(int row) {
+            categoryRows.get(categories[row]).remove(row);
+            brandRows.get(brands[row]).remove(row);
+        }
+
+        private static int code(Map<String, Integer> codes, List<RoaringBitmap> rows, String value) {
+            return codes.computeIfAbsent(value.toLowerCase(Locale.ROOT), key -> {
+                rows.add(new RoaringBitmap());
+                return rows.size() - 1;
+            });
+        }
+
+        private static RoaringBitmap anyOf(Map<String, Integer> codes, List<RoaringBitmap> rows, List<String> values) {
+            return FastAggregation.or(values.stream()
+                    .map(value -> codes.get(value.toLowerCase(Locale.ROOT)))
+                    .filter(Objects::nonNull)
+                    .map(rows::get)
+                    .iterator());
+        }
+
+    }
+
+}
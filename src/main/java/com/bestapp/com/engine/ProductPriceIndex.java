@@ -0,0 +1,365 @@
+package com.bestapp.com.engine;
+
+import com.bestapp.com.catalog.CatalogRebuild;
+import com.bestapp.com.catalog.InMemoryCatalog;
+import com.bestapp.com.dto.ProductDTO;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of products by price that answers price range queries without a database query.
+ * <p>
+ * Prices are kept in cents in a sorted primitive array next to the product ids, so a range is
+ * found by binary search and read as a contiguous slice. Created and repriced products go to a
+ * small sorted delta buffer and removed rows are only marked; once the buffer and the marks
+ * outgrow a fraction of the array both are merged into a new array. A page in price order reads
+ * the slice and the matching part of the buffer side by side; a page in another order is selected
+ * from the whole range.
+ * </p>
+ * Prices are compared at cent precision. Reads share a lock.
+ */
+public class ProductPriceIndex implements InMemoryCatalog {
+
+    private static final int MIN_MERGE_THRESHOLD = 1024;
+
+    /**
+     * The buffer and the marks are merged once they exceed one row in this many.
+     */
+    private static final int MERGE_RATIO = 32;
+
+    /**
+     * Tolerance for the binary representation of prices given in cents, e.g. {@code 1.1 * 100}.
+     */
+    private static final double CENT_TOLERANCE = 1e-6;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Generation generation = new Generation(List.of());
+    private List<Consumer<Generation>> writesDuringRebuild;
+
+    /**
+     * Adds a product or replaces an indexed product.
+     *
+     * @param product product with its id.
+     */
+    public void put(ProductDTO product) {
+        write(target -> target.put(product));
+    }
+
+    /**
+     * Removes a product; unknown ids are ignored.
+     *
+     * @param productId product id.
+     */
+    public void remove(long productId) {
+        write(target -> target.remove(productId));
+    }
+
+    /**
+     * Starts replacing the content of the index. The index keeps serving the previous content
+     * while the new one is built; writes made meanwhile are applied to both.
+     */
+    @Override
+    public CatalogRebuild startRebuild() {
+        lock.writeLock().lock();
+        try {
+            if (writesDuringRebuild != null) {
+                throw new IllegalStateException("A rebuild of the index is already running");
+            }
+            writesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<ProductDTO> loaded = new ArrayList<>();
+        return new CatalogRebuild() {
+
+            @Override
+            public void add(ProductDTO product) {
+                loaded.add(product);
+            }
+
+            @Override
+            public void finish() {
+                lock.writeLock().lock();
+                try {
+                    Generation rebuilt = new Generation(loaded);
+                    writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                    generation = rebuilt.needsMerge() ? rebuilt.merged() : rebuilt;
+                    writesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            @Override
+            public void abandon() {
+                lock.writeLock().lock();
+                try {
+                    writesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the products within a price range ordered by price and id.
+     *
+     * @param min        minimal price (inclusive).
+     * @param max        maximal price (inclusive).
+     * @param afterPrice price of the last product of the previous page; null for the first page.
+     * @param afterId    id of the last product of the previous page; null for the first page.
+     * @param limit      maximal number of products.
+     * @return products of the page.
+     */
+    public List<ProductDTO> findByPrice(double min, double max, Double afterPrice, Long afterId, int limit) {
+        long from = fromCents(min);
+        long to = toCents(max);
+        if (from > to || limit <= 0) {
+            return List.of();
+        }
+        long fromId = Long.MIN_VALUE;
+        if (afterPrice != null && afterId != null && cents(afterPrice) >= from) {
+            from = cents(afterPrice);
+            fromId = afterId;
+        }
+        List<ProductDTO> page = new ArrayList<>(Math.min(limit, 64));
+        lock.readLock().lock();
+        try {
+            generation.forEach(from, fromId, to, product -> page.add(product) && page.size() < limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return page;
+    }
+
+    /**
+     * Returns the products within a price range in any order. Every product of the range is
+     * visited, but only a page of them is kept.
+     *
+     * @param min   minimal price (inclusive).
+     * @param max   maximal price (inclusive).
+     * @param order order of the products, ending with the id.
+     * @param after accepts the products following the last product of the previous page.
+     * @param limit maximal number of products.
+     * @return products of the page.
+     */
+    public List<ProductDTO> find(double min, double max, Comparator<ProductDTO> order, Predicate<ProductDTO> after,
+                                 int limit) {
+        long from = fromCents(min);
+        long to = toCents(max);
+        if (from > to || limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<ProductDTO> best = new PriorityQueue<>(limit + 1, order.reversed());
+        lock.readLock().lock();
+        try {
+            generation.forEach(from, Long.MIN_VALUE, to, product -> {
+                if (after.test(product) && (best.size() < limit || order.compare(product, best.peek()) < 0)) {
+                    best.add(product);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+                return true;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return best.stream().sorted(order).toList();
+    }
+
+    /**
+     * Returns the number of products.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return generation.productsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Generation> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(generation);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+            if (generation.needsMerge()) {
+                generation = generation.merged();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long cents(double price) {
+        return Math.round(price * 100);
+    }
+
+    private static long fromCents(double min) {
+        return (long) Math.ceil(min * 100 - CENT_TOLERANCE);
+    }
+
+    private static long toCents(double max) {
+        return (long) Math.floor(max * 100 + CENT_TOLERANCE);
+    }
+
+    /**
+     * Position of a product in the index.
+     */
+    private record Entry(long cents, long id) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int byPrice = Long.compare(cents, other.cents);
+            return byPrice != 0 ? byPrice : Long.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Sorted array, delta buffer and removal marks of one generation of the index.
+     */
+    private static final class Generation {
+
+        private final Map<Long, ProductDTO> productsById = new HashMap<>();
+        private final TreeMap<Entry, ProductDTO> delta = new TreeMap<>();
+        private final BitSet removed = new BitSet();
+        private final long[] cents;
+        private final long[] ids;
+        private final ProductDTO[] products;
+        private int removedRows;
+
+        Generation(List<ProductDTO> unsorted) {
+            ProductDTO[] sorted = unsorted.toArray(ProductDTO[]::new);
+            Arrays.sort(sorted, Comparator.comparingLong((ProductDTO product) -> cents(product.getPrice()))
+                    .thenComparing(ProductDTO::getId));
+            cents = new long[sorted.length];
+            ids = new long[sorted.length];
+            products = sorted;
+            for (int row = 0; row < sorted.length; row++) {
+                cents[row] = cents(sorted[row].getPrice());
+                ids[row] = sorted[row].getId();
+                productsById.put(ids[row], sorted[row]);
+            }
+        }
+
+        void put(ProductDTO product) {
+            ProductDTO previous = productsById.put(product.getId(), product);
+            long price = cents(product.getPrice());
+            if (previous != null) {
+                long previousPrice = cents(previous.getPrice());
+                int row = rowOf(previousPrice, product.getId());
+                if (row >= 0 && previousPrice == price) {
+                    products[row] = product;
+                    return;
+                }
+                unlink(previousPrice, product.getId(), row);
+            }
+            delta.put(new Entry(price, product.getId()), product);
+        }
+
+        void remove(long productId) {
+            ProductDTO previous = productsById.remove(productId);
+            if (previous != null) {
+                long previousPrice = cents(previous.getPrice());
+                unlink(previousPrice, productId, rowOf(previousPrice, productId));
+            }
+        }
+
+        boolean needsMerge() {
+            return delta.size() + removedRows > Math.max(MIN_MERGE_THRESHOLD, cents.length / MERGE_RATIO);
+        }
+
+        /**
+         * Returns a generation holding the live rows and the buffer in one sorted array.
+         */
+        Generation merged() {
+            List<ProductDTO> live = new ArrayList<>(productsById.size());
+            forEach(Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, live::add);
+            return new Generation(live);
+        }
+
+        /**
+         * Visits the products after a position up to a price in price and id order, until the
+         * visitor returns false.
+         *
+         * @param fromPrice price of the position, in cents.
+         * @param fromId    id of the position; products at the position itself are skipped.
+         * @param toPrice   last price to visit, in cents.
+         */
+        void forEach(long fromPrice, long fromId, long toPrice, Predicate<ProductDTO> visitor) {
+            int row = firstRowAfter(fromPrice, fromId);
+            int end = firstRowAfter(toPrice, Long.MAX_VALUE);
+            Iterator<Map.Entry<Entry, ProductDTO>> buffered = delta
+                    .subMap(new Entry(fromPrice, fromId), false, new Entry(toPrice, Long.MAX_VALUE), true)
+                    .entrySet().iterator();
+            Map.Entry<Entry, ProductDTO> next = buffered.hasNext() ? buffered.next() : null;
+            while (true) {
+                row = removed.nextClearBit(row);
+                boolean fromRows = row < end;
+                if (!fromRows && next == null) {
+                    return;
+                }
+                ProductDTO product;
+                if (fromRows && (next == null || compare(row, next.getKey()) < 0)) {
+                    product = products[row++];
+                } else {
+                    product = next.getValue();
+                    next = buffered.hasNext() ? buffered.next() : null;
+                }
+                if (!visitor.test(product)) {
+                    return;
+                }
+            }
+        }
+
+        private void unlink(long price, long productId, int row) {
+            if (row >= 0) {
+                removed.set(row);
+                removedRows++;
+            } else {
+                delta.remove(new Entry(price, productId));
+            }
+        }
+
+        /**
+         * Returns the live row of a product in the array, or -1 if it is in the buffer.
+         */
+        private int rowOf(long price, long productId) {
+            int row = firstRowAfter(price, productId - 1);
+            return row < cents.length && cents[row] == price && ids[row] == productId && !removed.get(row) ? row : -1;
+        }
+
+        /**
+         * Returns the first row positioned strictly after a price and id.
+         */
+        private int firstRowAfter(long price, long productId) {
+            int low = 0;
+            int high = cents.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cents[middle] < price || cents[middle] == price && ids[middle] <= productId) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int compare(int row, Entry entry) {
+            int byPrice = Long.compare(cents[row], entry.cents());
+            return byPrice != 0 ? byPrice : Long.compare(ids[row], entry.id());
+        }
+
+    }
+
+}
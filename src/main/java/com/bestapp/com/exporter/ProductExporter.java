@@ -0,0 +1,71 @@
+package com.bestapp.com.exporter;
+
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.repository.ProductFilter;
+import com.bestapp.com.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes products as NDJSON, one product per line in id order.
+ * <p>
+ * Products are read from a server-side cursor inside a read-only transaction and written as they
+ * arrive, so memory use does not grow with the catalog and no offset is ever skipped.
+ * </p>
+ */
+public class ProductExporter {
+
+    private static final int NEWLINE = '\n';
+
+    private final ProductRepository productRepository;
+    private final ObjectWriter writer;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    /**
+     * @param transactionTemplate read-only transaction the cursor lives in.
+     * @param fetchSize           number of rows fetched per round trip.
+     */
+    public ProductExporter(ProductRepository productRepository, ObjectMapper objectMapper,
+                           TransactionTemplate transactionTemplate, int fetchSize) {
+        this.productRepository = productRepository;
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.transactionTemplate = transactionTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes all products matching a filter.
+     *
+     * @param filter query conditions.
+     * @param output target stream; flushed but not closed.
+     * @return number of exported products.
+     */
+    public long export(ProductFilter filter, OutputStream output) {
+        Long exported = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<ProductDTO> products = productRepository.streamAll(filter, fetchSize)) {
+                Iterator<ProductDTO> iterator = products.iterator();
+                while (iterator.hasNext()) {
+                    output.write(writer.writeValueAsBytes(iterator.next()));
+                    output.write(NEWLINE);
+                    count++;
+                }
+                output.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        return exported == null ? 0 : exported;
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.bestapp.com.facet;
+
+import com.bestapp.com.cache.ProductSnapshot;
+import com.bestapp.com.catalog.CatalogRebuild;
+import com.bestapp.com.catalog.InMemoryCatalog;
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.PriceBucketDTO;
+import com.bestapp.com.dto.ProductFacetsDTO;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory product counts per category, per brand and per price bucket.
+ * <p>
+ * Writes move a product between counters as they commit, so reading the facets never queries the
+ * database. Categories and brands are counted in lower case, since the queries and the filter
+ * ignore their case. Products without a category or brand are not counted under it, since the
+ * columns are nullable. Counters that reach zero are dropped. {@link #replace} swaps in counts recounted from
+ * the database to correct any drift; writes applied while the recount runs are replayed on top of
+ * it. A write that commits after the recount starts but before its snapshot is taken is counted
+ * twice until the next recount. The same recount is done from the products streamed by the
+ * {@link com.bestapp.com.catalog.ProductCatalogLoader}.
+ * </p>
+ */
+public class ProductFacets implements InMemoryCatalog {
+
+    private final double priceBucketWidth;
+    private volatile Counts counts = new Counts(Map.of(), Map.of(), Map.of());
+    private List<Consumer<Counts>> writesDuringRecount;
+
+    /**
+     * Counters of one generation.
+     */
+    private record Counts(Map<String, Long> categories, Map<String, Long> brands, Map<Long, Long> priceBuckets) {
+
+        private Counts {
+            categories = normalized(categories);
+            brands = normalized(brands);
+            priceBuckets = new ConcurrentHashMap<>(priceBuckets);
+        }
+
+        private void add(ProductSnapshot state, long bucket, long delta) {
+            if (state.category() != null) {
+                adjust(categories, key(state.category()), delta);
+            }
+            if (state.brand() != null) {
+                adjust(brands, key(state.brand()), delta);
+            }
+            adjust(priceBuckets, bucket, delta);
+        }
+
+        private static <K> void adjust(Map<K, Long> counters, K key, long delta) {
+            counters.compute(key, (k, count) -> {
+                long updated = (count == null ? 0 : count) + delta;
+                return updated == 0 ? null : updated;
+            });
+        }
+
+        private static Map<String, Long> normalized(Map<String, Long> counters) {
+            Map<String, Long> merged = new ConcurrentHashMap<>();
+            counters.forEach((value, count) -> {
+                if (value != null) {
+                    merged.merge(key(value), count, Long::sum);
+                }
+            });
+            return merged;
+        }
+
+        private static String key(String value) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * @param priceBucketWidth width of a price bucket; bucket {@code i} holds prices in
+     *                         {@code [i * width, (i + 1) * width)}.
+     */
+    public ProductFacets(double priceBucketWidth) {
+        this.priceBucketWidth = priceBucketWidth;
+    }
+
+    public double getPriceBucketWidth() {
+        return priceBucketWidth;
+    }
+
+    /**
+     * Counts a created product.
+     */
+    public void added(ProductSnapshot state) {
+        write(target -> target.add(state, bucketOf(state.price()), 1));
+    }
+
+    /**
+     * Stops counting a deleted product.
+     */
+    public void removed(ProductSnapshot state) {
+        write(target -> target.add(state, bucketOf(state.price()), -1));
+    }
+
+    /**
+     * Moves an updated product from the counters of its old state to those of its new state.
+     */
+    public void changed(ProductSnapshot before, ProductSnapshot after) {
+        write(target -> {
+            target.add(before, bucketOf(before.price()), -1);
+            target.add(after, bucketOf(after.price()), 1);
+        });
+    }
+
+    /**
+     * Marks the start of a recount; writes from now on are replayed on the recounted counters.
+     */
+    public synchronized void recountStarted() {
+        writesDuringRecount = new ArrayList<>();
+    }
+
+    /**
+     * Replaces all counters with counts taken from the database since {@link #recountStarted()}.
+     *
+     * @param categories   products per category.
+     * @param brands       products per brand.
+     * @param priceBuckets products per price bucket index.
+     */
+    public synchronized void replace(Map<String, Long> categories, Map<String, Long> brands, Map<Long, Long> priceBuckets) {
+        Counts recounted = new Counts(categories, brands, priceBuckets);
+        if (writesDuringRecount != null) {
+            writesDuringRecount.forEach(write -> write.accept(recounted));
+        }
+        writesDuringRecount = null;
+        counts = recounted;
+    }
+
+    /**
+     * Starts a recount from products fed one by one.
+     */
+    @Override
+    public CatalogRebuild startRebuild() {
+        recountStarted();
+        Map<String, Long> categories = new HashMap<>();
+        Map<String, Long> brands = new HashMap<>();
+        Map<Long, Long> priceBuckets = new HashMap<>();
+        return new CatalogRebuild() {
+
+            @Override
+            public void add(ProductDTO product) {
+                if (product.getCategory() != null) {
+                    categories.merge(product.getCategory(), 1L, Long::sum);
+                }
+                if (product.getBrand() != null) {
+                    brands.merge(product.getBrand(), 1L, Long::sum);
+                }
+                priceBuckets.merge(bucketOf(product.getPrice()), 1L, Long::sum);
+            }
+
+            @Override
+            public void finish() {
+                replace(categories, brands, priceBuckets);
+            }
+
+            @Override
+            public void abandon() {
+                recountFailed();
+            }
+        };
+    }
+
+    /**
+     * Abandons a failed recount; the current counters stay.
+     */
+    public synchronized void recountFailed() {
+        writesDuringRecount = null;
+    }
+
+    /**
+     * Returns the current counts: categories and brands by descending count, price buckets by price.
+     *
+     * @return facet counts.
+     */
+    public ProductFacetsDTO snapshot() {
+        Counts current = counts;
+        List<PriceBucketDTO> buckets = new TreeMap<>(current.priceBuckets()).entrySet().stream()
+                .map(bucket -> new PriceBucketDTO(bucket.getKey() * priceBucketWidth,
+                        (bucket.getKey() + 1) * priceBucketWidth, bucket.getValue()))
+                .toList();
+        return new ProductFacetsDTO(byCount(current.categories()), byCount(current.brands()), buckets);
+    }
+
+    /**
+     * Returns the index of the bucket holding a price.
+     */
+    public long bucketOf(double price) {
+        return (long) Math.floor(price / priceBucketWidth);
+    }
+
+    private synchronized void write(Consumer<Counts> write) {
+        write.accept(counts);
+        if (writesDuringRecount != null) {
+            writesDuringRecount.add(write);
+        }
+    }
+
+    private static Map<String, Long> byCount(Map<String, Long> counters) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counters.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEachOrdered(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.bestapp.com.facet;
+
+import com.bestapp.com.repository.ProductRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recounts the {@link ProductFacets} from the database with {@code GROUP BY} queries and replaces
+ * the in-memory counters with the result, correcting any drift of the incremental updates.
+ * <p>
+ * The counts are read in one repeatable read transaction, so the three facets come from the same
+ * snapshot even though the connections default to read committed. It is not read-only, so the
+ * counts come from the primary rather than a possibly lagging replica.
+ * </p>
+ */
+public class ProductFacetsReconciler {
+
+    private final ProductRepository productRepository;
+    private final ProductFacets facets;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductFacetsReconciler(ProductRepository productRepository, ProductFacets facets,
+                                   TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.facets = facets;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Recounts all facets.
+     */
+    public void reconcile() {
+        facets.recountStarted();
+        try {
+            transactionTemplate.executeWithoutResult(status -> facets.replace(
+                    productRepository.countBy("category"),
+                    productRepository.countBy("brand"),
+                    productRepository.countByPriceBucket(facets.getPriceBucketWidth())));
+        } catch (RuntimeException e) {
+            facets.recountFailed();
+            throw e;
+        }
+    }
+
+}
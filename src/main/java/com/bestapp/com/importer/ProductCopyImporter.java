@@ -0,0 +1,217 @@
+package com.bestapp.com.importer;
+
+import com.bestapp.com.cache.ProductCache;
+import com.bestapp.com.dto.CreateOrUpdateProductDTO;
+import com.bestapp.com.dto.ProductImportResultDTO;
+import com.bestapp.com.exception.BadRequestException;
+import com.bestapp.com.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports products through the PostgreSQL {@code COPY} protocol.
+ * <p>
+ * Rows are parsed on demand while {@link CopyManager} pulls the COPY stream, so parsing and
+ * streaming run in lockstep and only one row is held in memory. Every chunk is copied into a
+ * session-local staging table and merged into {@code app_data.products} with one {@code MERGE}
+ * statement keyed on name and brand, then committed; the staging table is emptied on commit.
+ * Products are matched through the {@code (name, brand)} index, and the merges of concurrent
+ * imports take turns on a transaction-scoped advisory lock.
+ * The product cache and the Hibernate caches are cleared once per committed chunk, since
+ * merged rows may have moved between categories, brands and price ranges.
+ * </p>
+ * <p>
+ * A malformed row stops the import; chunks committed before it stay imported.
+ * </p>
+ */
+public class ProductCopyImporter {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS product_import_staging (
+                name VARCHAR(255) NOT NULL,
+                description TEXT NOT NULL,
+                price NUMERIC(10,2) NOT NULL,
+                category VARCHAR(255) NOT NULL,
+                brand VARCHAR(255) NOT NULL,
+                stock_quantity INTEGER NOT NULL
+            ) ON COMMIT DELETE ROWS""";
+
+    private static final String COPY_STAGING = "COPY product_import_staging "
+            + "(name, description, price, category, brand, stock_quantity) FROM STDIN (FORMAT csv)";
+
+    /**
+     * Serializes the merges of concurrent imports until the end of the transaction, so two imports
+     * cannot both insert a product that neither sees yet.
+     */
+    private static final String LOCK_MERGE = "SELECT pg_advisory_xact_lock(hashtext('app_data.products.import'))";
+
+    private static final String MERGE_STAGING = """
+            MERGE INTO app_data.products p
+            USING (SELECT DISTINCT ON (name, brand) * FROM product_import_staging) s
+            ON p.name = s.name AND p.brand = s.brand
+            WHEN MATCHED THEN UPDATE SET description = s.description, price = s.price,
+                category = s.category, stock_quantity = s.stock_quantity
+            WHEN NOT MATCHED THEN INSERT (name, description, price, category, brand, stock_quantity)
+                VALUES (s.name, s.description, s.price, s.category, s.brand, s.stock_quantity)""";
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductCache cache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    /**
+     * @param chunkSize number of rows copied and merged in one transaction.
+     */
+    public ProductCopyImporter(DataSource dataSource, EntityManagerFactory entityManagerFactory, ProductCache cache,
+                               ObjectMapper objectMapper, Validator validator, int chunkSize) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports all products of a body.
+     *
+     * @param input  request body.
+     * @param format body format.
+     * @return number of copied rows and the import throughput.
+     * @throws BadRequestException if a row is malformed.
+     */
+    public ProductImportResultDTO importProducts(InputStream input, ProductImportFormat format) {
+        long start = System.nanoTime();
+        long imported = 0;
+        int chunks = 0;
+        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try (ProductRowReader rows = format.open(bufferedReader, objectMapper);
+             Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+                ChunkReader chunk = new ChunkReader(rows, validator, chunkSize);
+                while (chunk.hasMoreRows()) {
+                    long copied = copyManager.copyIn(COPY_STAGING, chunk);
+                    statement.execute(LOCK_MERGE);
+                    statement.executeUpdate(MERGE_STAGING);
+                    connection.commit();
+                    evictCaches();
+                    imported += copied;
+                    chunks++;
+                    chunk.nextChunk();
+                }
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the import body", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to copy products", e);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : imported * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        return new ProductImportResultDTO(imported, chunks, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+    }
+
+    /**
+     * The merge bypasses Hibernate, so neither the second-level cache nor the query cache learns
+     * about it; both are evicted together with the product cache.
+     */
+    private void evictCaches() {
+        cache.clearAll();
+        entityManagerFactory.getCache().evict(Product.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    /**
+     * Presents up to a chunk of parsed rows as COPY CSV text, parsing the next row only when the
+     * previous one has been consumed.
+     */
+    private static final class ChunkReader extends Reader {
+
+        private final ProductRowReader rows;
+        private final Validator validator;
+        private final int chunkSize;
+        private CreateOrUpdateProductDTO pending;
+        private String line = "";
+        private int position;
+        private int rowsInChunk;
+
+        private ChunkReader(ProductRowReader rows, Validator validator, int chunkSize) throws IOException {
+            this.rows = rows;
+            this.validator = validator;
+            this.chunkSize = chunkSize;
+            this.pending = readRow();
+        }
+
+        boolean hasMoreRows() {
+            return pending != null;
+        }
+
+        void nextChunk() {
+            rowsInChunk = 0;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (position == line.length()) {
+                if (pending == null || rowsInChunk == chunkSize) {
+                    return -1;
+                }
+                line = toCsv(pending);
+                position = 0;
+                rowsInChunk++;
+                pending = readRow();
+            }
+            int count = Math.min(length, line.length() - position);
+            line.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // the row reader is closed by the importer
+        }
+
+        private CreateOrUpdateProductDTO readRow() throws IOException {
+            CreateOrUpdateProductDTO row = rows.next();
+            if (row != null) {
+                ProductImporter.validate(validator, row, rows.lineNumber());
+            }
+            return row;
+        }
+
+        private static String toCsv(CreateOrUpdateProductDTO row) {
+            return quote(row.getName()) + ',' + quote(row.getDescription()) + ',' + row.getPrice() + ','
+                    + quote(row.getCategory()) + ',' + quote(row.getBrand()) + ',' + row.getStockQuantity() + '\n';
+        }
+
+        private static String quote(String value) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.bestapp.com.importer;
+
+import com.bestapp.com.dto.CreateOrUpdateProductDTO;
+import com.bestapp.com.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Body formats accepted by the bulk product import.
+ */
+public enum ProductImportFormat {
+
+    /**
+     * One JSON product object per line.
+     */
+    NDJSON("application/x-ndjson") {
+        @Override
+        public ProductRowReader open(BufferedReader reader, ObjectMapper objectMapper) {
+            return new LineReader(reader) {
+                @Override
+                CreateOrUpdateProductDTO parse(String line) {
+                    try {
+                        return objectMapper.readValue(line, CreateOrUpdateProductDTO.class);
+                    } catch (JsonProcessingException e) {
+                        throw new BadRequestException("Invalid row " + lineNumber() + ": " + e.getOriginalMessage());
+                    }
+                }
+            };
+        }
+    },
+
+    /**
+     * Comma-separated values with a header line naming the product fields; values may be quoted.
+     */
+    CSV("text/csv") {
+        @Override
+        public ProductRowReader open(BufferedReader reader, ObjectMapper objectMapper) {
+            return new LineReader(reader) {
+                private Map<String, Integer> columns;
+
+                @Override
+                CreateOrUpdateProductDTO parse(String line) {
+                    List<String> values = splitCsv(line);
+                    if (columns == null) {
+                        columns = new HashMap<>();
+                        for (int i = 0; i < values.size(); i++) {
+                            columns.put(values.get(i).trim(), i);
+                        }
+                        return null;
+                    }
+                    try {
+                        CreateOrUpdateProductDTO product = new CreateOrUpdateProductDTO();
+                        product.setName(value(values, "name"));
+                        product.setDescription(value(values, "description"));
+                        product.setPrice(Double.parseDouble(value(values, "price")));
+                        product.setCategory(value(values, "category"));
+                        product.setBrand(value(values, "brand"));
+                        product.setStockQuantity(Integer.parseInt(value(values, "stockQuantity")));
+                        return product;
+                    } catch (NumberFormatException e) {
+                        throw new BadRequestException("Invalid row " + lineNumber() + ": " + e.getMessage());
+                    }
+                }
+
+                private String value(List<String> values, String column) {
+                    Integer index = columns.get(column);
+                    if (index == null || index >= values.size()) {
+                        throw new BadRequestException("Invalid row " + lineNumber() + ": missing " + column);
+                    }
+                    return values.get(index);
+                }
+            };
+        }
+    };
+
+    private final String contentType;
+
+    ProductImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Creates a reader of the rows of a body in this format.
+     *
+     * @param reader       body reader.
+     * @param objectMapper mapper for JSON rows.
+     * @return row reader.
+     */
+    public abstract ProductRowReader open(BufferedReader reader, ObjectMapper objectMapper);
+
+    /**
+     * Resolves the format of a request body by its content type.
+     *
+     * @param contentType value of the {@code Content-Type} header.
+     * @return matching format.
+     * @throws BadRequestException if the content type is not supported.
+     */
+    public static ProductImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (ProductImportFormat format : values()) {
+                if (format.contentType.equals(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new BadRequestException("Unsupported import content type: " + contentType);
+    }
+
+    /**
+     * Splits a CSV line; a quoted value may contain commas and doubled quotes.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Reads non-blank lines and parses each into a product; a null result skips the line.
+     */
+    private abstract static class LineReader implements ProductRowReader {
+
+        private final BufferedReader reader;
+        private long lineNumber;
+
+        LineReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        abstract CreateOrUpdateProductDTO parse(String line);
+
+        @Override
+        public CreateOrUpdateProductDTO next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    CreateOrUpdateProductDTO product = parse(line);
+                    if (product != null) {
+                        return product;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public long lineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.bestapp.com.importer;
+
+import com.bestapp.com.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Ways of writing imported products to the database.
+ */
+public enum ProductImportMode {
+
+    /**
+     * Batched inserts through {@link com.bestapp.com.repository.ProductRepository}.
+     */
+    BATCH,
+
+    /**
+     * {@code COPY} into a staging table merged into the products table; existing products with
+     * the same name and brand are updated.
+     */
+    COPY;
+
+    /**
+     * Resolves the value of a {@code mode} request parameter.
+     *
+     * @param parameter parameter value, {@code batch} if null.
+     * @return matching mode.
+     * @throws BadRequestException if the value is not a supported mode.
+     */
+    public static ProductImportMode fromParameter(String parameter) {
+        if (parameter == null) {
+            return BATCH;
+        }
+        try {
+            return valueOf(parameter.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported import mode: " + parameter);
+        }
+    }
+
+}
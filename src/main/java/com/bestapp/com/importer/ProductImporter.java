@@ -0,0 +1,128 @@
+package com.bestapp.com.importer;
+
+import com.bestapp.com.cache.ProductCache;
+import com.bestapp.com.cache.ProductSnapshot;
+import com.bestapp.com.dto.CreateOrUpdateProductDTO;
+import com.bestapp.com.dto.ProductImportResultDTO;
+import com.bestapp.com.exception.BadRequestException;
+import com.bestapp.com.model.Product;
+import com.bestapp.com.repository.ProductRepository;
+import com.bestapp.com.service.ProductMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Imports products from a streamed NDJSON or CSV body.
+ * <p>
+ * Rows are read one at a time and saved in chunks, every chunk in its own transaction, so memory
+ * use and transaction length do not grow with the body. Product ids come from a pooled sequence,
+ * which lets Hibernate send the inserts of a chunk as JDBC batches. The product cache is
+ * invalidated once per committed chunk instead of once per product.
+ * </p>
+ * <p>
+ * Rows are checked with the bean validation constraints of {@link CreateOrUpdateProductDTO}, the
+ * same ones the create and update endpoints apply. A malformed row stops the import; chunks
+ * committed before it stay imported.
+ * </p>
+ */
+public class ProductImporter {
+
+    private final ProductRepository productRepository;
+    private final ProductCache cache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    /**
+     * @param chunkSize number of rows saved in one transaction.
+     */
+    public ProductImporter(ProductRepository productRepository, ProductCache cache, ObjectMapper objectMapper,
+                           Validator validator, TransactionTemplate transactionTemplate, int chunkSize) {
+        this.productRepository = productRepository;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports all products of a body.
+     *
+     * @param input  request body.
+     * @param format body format.
+     * @return number of imported rows and the import throughput.
+     * @throws BadRequestException if a row is malformed.
+     */
+    public ProductImportResultDTO importProducts(InputStream input, ProductImportFormat format) {
+        long start = System.nanoTime();
+        long imported = 0;
+        int chunks = 0;
+        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try (ProductRowReader reader = format.open(bufferedReader, objectMapper)) {
+            List<Product> chunk = new ArrayList<>(chunkSize);
+            CreateOrUpdateProductDTO row;
+            while ((row = reader.next()) != null) {
+                validate(validator, row, reader.lineNumber());
+                chunk.add(ProductMapper.INSTANCE.createOrUpdateProductDTOtoProduct(row));
+                if (chunk.size() == chunkSize) {
+                    imported += saveChunk(chunk);
+                    chunks++;
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += saveChunk(chunk);
+                chunks++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the import body", e);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : imported * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        return new ProductImportResultDTO(imported, chunks, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+    }
+
+    private int saveChunk(List<Product> chunk) {
+        List<Product> saved = transactionTemplate.execute(status -> productRepository.saveAll(chunk));
+        Long firstId = saved.stream().map(Product::getId).filter(Objects::nonNull).min(Long::compare).orElse(null);
+        cache.invalidatePagesFrom(firstId);
+        cache.invalidateProduct(saved.stream()
+                .map(product -> new ProductSnapshot(null, product.getCategory(), product.getBrand(), product.getPrice()))
+                .distinct()
+                .toArray(ProductSnapshot[]::new));
+        return saved.size();
+    }
+
+    /**
+     * Checks a row against the constraints of {@link CreateOrUpdateProductDTO}.
+     *
+     * @throws BadRequestException with the line number and the violated constraints.
+     */
+    static void validate(Validator validator, CreateOrUpdateProductDTO row, long lineNumber) {
+        Set<ConstraintViolation<CreateOrUpdateProductDTO>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException("Invalid row " + lineNumber + ": " + violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" ")));
+        }
+    }
+
+}
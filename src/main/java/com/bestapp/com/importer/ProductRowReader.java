@@ -0,0 +1,27 @@
+package com.bestapp.com.importer;
+
+import com.bestapp.com.dto.CreateOrUpdateProductDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the products of an import body one row at a time, so the body is never held in memory.
+ */
+public interface ProductRowReader extends Closeable {
+
+    /**
+     * Reads the next product.
+     *
+     * @return the next product, or null at the end of the body.
+     * @throws IOException if the body cannot be read.
+     * @throws com.bestapp.com.exception.BadRequestException if the row is malformed.
+     */
+    CreateOrUpdateProductDTO next() throws IOException;
+
+    /**
+     * Returns the number of the line read last, for error messages.
+     */
+    long lineNumber();
+
+}
@@ -2,6 +2,8 @@ package com.bestapp.com.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -14,27 +16,63 @@ import java.util.Objects;
 @Table(name = "audit")
 public class AuditLog {
 
+    /**
+     * Outcome of an invocation that returned normally.
+     */
+    public static final String SUCCESS = "SUCCESS";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_seq")
+    @SequenceGenerator(name = "audit_seq", sequenceName = "audit_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "username", nullable = false)
     private String username;
 
-    @Column(name = "methodName", nullable = false)
+    @Column(name = "methodname", nullable = false)
     private String methodName;
 
-    @Column(name = "parameters", nullable = false)
+    /**
+     * Arguments of the call as a JSON array, see {@link com.bestapp.com.audit.AuditParameterEncoder}.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "parameters", nullable = false, columnDefinition = "jsonb")
     private String parameters;
 
+    /**
+     * Arguments of the call as passed, until they are encoded into {@link #parameters}.
+     */
+    @Transient
+    @ToString.Exclude
+    private Object[] arguments;
+
     @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp;
 
-    public AuditLog(String username, String methodName, String parameters, LocalDateTime timestamp) {
+    @Column(name = "duration_nanos")
+    private Long durationNanos;
+
+    /**
+     * {@link #SUCCESS} or the class name of the thrown exception.
+     */
+    @Column(name = "outcome")
+    private String outcome;
+
+    /**
+     * Number of returned elements, or null if nothing was returned.
+     */
+    @Column(name = "result_size")
+    private Integer resultSize;
+
+    public AuditLog(String username, String methodName, String parameters, LocalDateTime timestamp,
+                    Long durationNanos, String outcome, Integer resultSize) {
         this.username = username;
         this.methodName = methodName;
         this.parameters = parameters;
         this.timestamp = timestamp;
+        this.durationNanos = durationNanos;
+        this.outcome = outcome;
+        this.resultSize = resultSize;
     }
 
     @Override
@@ -2,23 +2,31 @@ package com.bestapp.com.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.Objects;
 
 /**
  * Represents a product in the marketplace.
  * Contains basic product information and unique identifier.
+ * Kept in the second-level cache, so loading a product by id does not reach the database.
  */
 @NoArgsConstructor
 @Getter
 @Setter
 @ToString
 @Entity
-@Table(name = "product")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@Table(name = "products")
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -27,7 +35,12 @@ public class Product {
     @Column(name = "description", nullable = false)
     private String description;
 
-    @Column(name = "price", nullable = false)
+    /**
+     * Bound as {@code numeric}, the column type, so a price condition compares the column as it
+     * is and can use the price index instead of casting every row to {@code double precision}.
+     */
+    @JdbcTypeCode(SqlTypes.NUMERIC)
+    @Column(name = "price", nullable = false, precision = 10, scale = 2)
     private double price;
 
     @Column(name = "category", nullable = false)
@@ -36,7 +49,7 @@ public class Product {
     @Column(name = "brand", nullable = false)
     private String brand;
 
-    @Column(name = "stockQuantity", nullable = false)
+    @Column(name = "stock_quantity", nullable = false)
     private int stockQuantity;
 
     public Product(String name, String description, double price, String category, String brand, int stockQuantity) {
@@ -0,0 +1,14 @@
+package com.bestapp.com.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conditions of an audit query; a null condition does not restrict.
+ *
+ * @param username   user who made the call.
+ * @param methodName name of the called service method.
+ * @param from       earliest timestamp (inclusive).
+ * @param to         latest timestamp (exclusive).
+ */
+public record AuditFilter(String username, String methodName, LocalDateTime from, LocalDateTime to) {
+}
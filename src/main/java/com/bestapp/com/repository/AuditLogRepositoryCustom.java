@@ -0,0 +1,49 @@
+package com.bestapp.com.repository;
+
+import com.bestapp.com.dto.AuditLogDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Audit queries and partition management of the audit table, which is range-partitioned by
+ * timestamp. Partition statements are native SQL and must run in a read-write transaction.
+ */
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Returns the audit events matching a filter, newest first, seeking strictly before the given
+     * position instead of skipping rows with an offset. A time window only scans the partitions it
+     * overlaps.
+     *
+     * @param filter          query conditions.
+     * @param beforeTimestamp timestamp of the last row of the previous page; null for the first page.
+     * @param beforeId        id of the last row of the previous page; null for the first page.
+     * @param limit           maximal number of rows.
+     * @return audit events of the page.
+     */
+    List<AuditLogDTO> findPage(AuditFilter filter, LocalDateTime beforeTimestamp, Long beforeId, int limit);
+
+    /**
+     * Returns the names of the partitions of the audit table.
+     */
+    List<String> findPartitionNames();
+
+    /**
+     * Creates a partition holding the timestamps in {@code [from, to)} unless it already exists.
+     *
+     * @param name partition name; only letters, digits and underscores.
+     * @param from first day of the partition.
+     * @param to   first day after the partition.
+     */
+    void createPartition(String name, LocalDate from, LocalDate to);
+
+    /**
+     * Drops a partition together with its rows.
+     *
+     * @param name partition name; only letters, digits and underscores.
+     */
+    void dropPartition(String name);
+
+}
@@ -0,0 +1,105 @@
+package com.bestapp.com.repository;
+
+import com.bestapp.com.dto.AuditLogDTO;
+import com.bestapp.com.model.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Criteria API and native SQL implementation of {@link AuditLogRepositoryCustom}.
+ * Pages are ordered by {@code (timestamp, id)} descending, so with or without a user or method
+ * condition they are read from one of the {@code (..., timestamp DESC, id DESC)} indexes.
+ */
+public class AuditLogRepositoryCustomImpl implements AuditLogRepositoryCustom {
+
+    private static final String ID = "id";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
+    private static final Pattern PARTITION_NAME = Pattern.compile("[a-z0-9_]+");
+    private static final String PARTITION_NAMES = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            JOIN pg_namespace n ON n.oid = p.relnamespace
+            WHERE n.nspname = 'app_data' AND p.relname = 'audit'
+            ORDER BY c.relname
+            """;
+    private static final String CREATE_PARTITION =
+            "CREATE TABLE IF NOT EXISTS app_data.%s PARTITION OF app_data.audit FOR VALUES FROM ('%s') TO ('%s')";
+    private static final String DROP_PARTITION = "DROP TABLE IF EXISTS app_data.%s";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLogDTO> findPage(AuditFilter filter, LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLogDTO> query = builder.createQuery(AuditLogDTO.class);
+        Root<AuditLog> audit = query.from(AuditLog.class);
+        Path<LocalDateTime> timestamp = audit.get(TIMESTAMP);
+        Path<Long> id = audit.get(ID);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.username() != null) {
+            predicates.add(builder.equal(audit.get("username"), filter.username()));
+        }
+        if (filter.methodName() != null) {
+            predicates.add(builder.equal(audit.get("methodName"), filter.methodName()));
+        }
+        if (filter.from() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(timestamp, filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(builder.lessThan(timestamp, filter.to()));
+        }
+        if (beforeTimestamp != null && beforeId != null) {
+            predicates.add(builder.or(
+                    builder.lessThan(timestamp, beforeTimestamp),
+                    builder.and(builder.equal(timestamp, beforeTimestamp), builder.lessThan(id, beforeId))));
+        }
+
+        query.select(builder.construct(AuditLogDTO.class,
+                        id, audit.get("username"), audit.get("methodName"), audit.get("parameters"), timestamp,
+                        audit.get("durationNanos"), audit.get("outcome"), audit.get("resultSize")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.desc(timestamp), builder.desc(id));
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, limit)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findPartitionNames() {
+        return entityManager.createNativeQuery(PARTITION_NAMES).getResultList();
+    }
+
+    @Override
+    public void createPartition(String name, LocalDate from, LocalDate to) {
+        entityManager.createNativeQuery(CREATE_PARTITION.formatted(checked(name), from, to)).executeUpdate();
+    }
+
+    @Override
+    public void dropPartition(String name) {
+        entityManager.createNativeQuery(DROP_PARTITION.formatted(checked(name))).executeUpdate();
+    }
+
+    /**
+     * Partition names are part of the statement text, so only plain identifiers are accepted.
+     */
+    private static String checked(String name) {
+        if (!PARTITION_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid partition name: " + name);
+        }
+        return name;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.bestapp.com.repository;
+
+/**
+ * Conditions of a paginated product query; null fields are not filtered on.
+ *
+ * @param category category compared ignoring case.
+ * @param brand    brand compared ignoring case.
+ * @param minPrice minimal price (inclusive).
+ * @param maxPrice maximal price (inclusive).
+ */
+public record ProductFilter(String category, String brand, Double minPrice, Double maxPrice) {
+
+    public static ProductFilter all() {
+        return new ProductFilter(null, null, null, null);
+    }
+
+    public static ProductFilter category(String category) {
+        return new ProductFilter(category, null, null, null);
+    }
+
+    public static ProductFilter brand(String brand) {
+        return new ProductFilter(null, brand, null, null);
+    }
+
+    public static ProductFilter priceRange(double min, double max) {
+        return new ProductFilter(null, null, min, max);
+    }
+
+}
@@ -1,16 +1,19 @@
 package com.bestapp.com.repository;
 
 import com.bestapp.com.model.Product;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
-    List<Product> findByCategoryIgnoreCase(String category);
-    List<Product> findByBrandIgnoreCase(String brand);
-    List<Product> findByPriceBetween(double min, double max);
+    /**
+     * Served from the query cache until the products table is written.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    boolean existsById(Long id);
 
 }
@@ -0,0 +1,80 @@
+package com.bestapp.com.repository;
+
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductSearchHitDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Product queries built with the Criteria API. Read queries select straight into {@link ProductDTO},
+ * so rows are never loaded as managed entities nor snapshotted for dirty checking.
+ * Full-text search is native SQL, as the {@code tsvector} column and its operators are not mapped.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Returns the products matching a filter ordered by a sort attribute and then by id,
+     * seeking strictly after the given position instead of skipping rows with an offset.
+     *
+     * @param filter        query conditions.
+     * @param sortAttribute entity attribute to order by; {@code id} orders by id only.
+     * @param afterKey      sort attribute value of the last row of the previous page; null for the first page.
+     * @param afterId       id of the last row of the previous page; null for the first page.
+     * @param limit         maximal number of rows.
+     * @return products of the page.
+     */
+    List<ProductDTO> findPage(ProductFilter filter, String sortAttribute, Comparable<?> afterKey, Long afterId, int limit);
+
+    /**
+     * Returns the products at an offset of all products ordered by id.
+     *
+     * @param offset number of products skipped.
+     * @param limit  maximal number of rows.
+     * @return products of the page.
+     */
+    List<ProductDTO> findPageAt(int offset, int limit);
+
+    /**
+     * Streams the products matching a filter ordered by id from a server-side cursor.
+     * Rows are fetched in batches of {@code fetchSize}; as projections they never enter the
+     * persistence context, so it does not grow with the result. Must be called in a transaction
+     * and closed by the caller.
+     *
+     * @param filter    query conditions.
+     * @param fetchSize number of rows fetched per round trip.
+     * @return products in id order.
+     */
+    Stream<ProductDTO> streamAll(ProductFilter filter, int fetchSize);
+
+    /**
+     * Returns the products matching a full-text query ordered by descending rank and then by id,
+     * seeking strictly after the given position. The query uses web search syntax: quoted phrases,
+     * {@code or} and {@code -} for excluded words.
+     *
+     * @param query     search query.
+     * @param afterRank rank of the last row of the previous page; null for the first page.
+     * @param afterId   id of the last row of the previous page; null for the first page.
+     * @param limit     maximal number of rows.
+     * @return matching products of the page with their rank.
+     */
+    List<ProductSearchHitDTO> search(String query, Float afterRank, Long afterId, int limit);
+
+    /**
+     * Counts the products per value of an attribute.
+     *
+     * @param attribute entity attribute to group by, e.g. {@code category}.
+     * @return number of products per attribute value.
+     */
+    Map<String, Long> countBy(String attribute);
+
+    /**
+     * Counts the products per price bucket of a fixed width.
+     *
+     * @param width width of a bucket.
+     * @return number of products per bucket index, {@code floor(price / width)}.
+     */
+    Map<Long, Long> countByPriceBucket(double width);
+
+}
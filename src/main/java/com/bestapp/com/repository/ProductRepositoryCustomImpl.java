@@ -0,0 +1,181 @@
+package com.bestapp.com.repository;
+
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductSearchHitDTO;
+import com.bestapp.com.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Criteria API implementation of {@link ProductRepositoryCustom}.
+ * Category and brand are compared by {@code upper(...)}, so the filter can use functional indexes.
+ * The fetch size of page queries is their limit, so a page arrives in a single round trip.
+ * Search matches the generated {@code search_vector} column, so it is served by its GIN index.
+ */
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String ID = "id";
+    private static final String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
+    private static final String SEARCH = """
+            SELECT id, name, description, price, category, brand, stock_quantity, rank FROM (
+                SELECT p.id, p.name, p.description, p.price, p.category, p.brand, p.stock_quantity,
+                       ts_rank(p.search_vector, q.query) AS rank
+                FROM products p, websearch_to_tsquery('simple', :query) AS q(query)
+                WHERE p.search_vector @@ q.query
+            ) hits
+            %s
+            ORDER BY rank DESC, id
+            """;
+    private static final String PRICE_BUCKETS = "SELECT floor(price / %s) AS bucket, count(*) FROM products GROUP BY bucket";
+    private static final String SEARCH_AFTER = "WHERE rank < :afterRank OR (rank = :afterRank AND id > :afterId)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductDTO> findPage(ProductFilter filter, String sortAttribute, Comparable<?> afterKey, Long afterId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductDTO> query = builder.createQuery(ProductDTO.class);
+        Root<Product> product = query.from(Product.class);
+
+        List<Predicate> predicates = filter(builder, product, filter);
+        if (afterId != null) {
+            predicates.add(after(builder, product, sortAttribute, afterKey, afterId));
+        }
+        List<Order> orders = new ArrayList<>();
+        if (!ID.equals(sortAttribute)) {
+            orders.add(builder.asc(product.get(sortAttribute)));
+        }
+        orders.add(builder.asc(product.get(ID)));
+
+        query.select(projection(builder, product)).where(predicates.toArray(Predicate[]::new)).orderBy(orders);
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, limit)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ProductDTO> findPageAt(int offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductDTO> query = builder.createQuery(ProductDTO.class);
+        Root<Product> product = query.from(Product.class);
+
+        query.select(projection(builder, product)).orderBy(builder.asc(product.get(ID)));
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, limit)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<ProductDTO> streamAll(ProductFilter filter, int fetchSize) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductDTO> query = builder.createQuery(ProductDTO.class);
+        Root<Product> product = query.from(Product.class);
+
+        query.select(projection(builder, product)).where(filter(builder, product, filter).toArray(Predicate[]::new))
+                .orderBy(builder.asc(product.get(ID)));
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProductSearchHitDTO> search(String query, Float afterRank, Long afterId, int limit) {
+        boolean seek = afterId != null;
+        Query search = entityManager.createNativeQuery(SEARCH.formatted(seek ? SEARCH_AFTER : ""))
+                .setParameter("query", query);
+        if (seek) {
+            search.setParameter("afterRank", afterRank).setParameter("afterId", afterId);
+        }
+        List<Object[]> rows = search
+                .setHint(HINT_FETCH_SIZE, limit)
+                .setMaxResults(limit)
+                .getResultList();
+        return rows.stream().map(ProductRepositoryCustomImpl::toSearchHit).toList();
+    }
+
+    private static ProductSearchHitDTO toSearchHit(Object[] row) {
+        return new ProductSearchHitDTO(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                ((Number) row[3]).doubleValue(), (String) row[4], (String) row[5], ((Number) row[6]).intValue(),
+                ((Number) row[7]).floatValue());
+    }
+
+    @Override
+    public Map<String, Long> countBy(String attribute) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+
+        Path<String> value = product.get(attribute);
+        query.multiselect(value, builder.count(product)).groupBy(value);
+        return entityManager.createQuery(query).getResultStream()
+                .collect(Collectors.toMap(row -> row.get(0, String.class), row -> row.get(1, Long.class)));
+    }
+
+    /**
+     * The width is inlined rather than bound: a bound parameter in both the select list and the
+     * group by clause would be two different parameters to Postgres.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, Long> countByPriceBucket(double width) {
+        List<Object[]> rows = entityManager.createNativeQuery(PRICE_BUCKETS.formatted(Double.toString(width)))
+                .getResultList();
+        return rows.stream().collect(Collectors.toMap(row -> ((Number) row[0]).longValue(),
+                row -> ((Number) row[1]).longValue()));
+    }
+
+    /**
+     * Selects the columns into the {@link ProductDTO} constructor.
+     */
+    private static CompoundSelection<ProductDTO> projection(CriteriaBuilder builder, Root<Product> product) {
+        return builder.construct(ProductDTO.class, product.get(ID), product.get("name"), product.get("description"),
+                product.get("price"), product.get("category"), product.get("brand"), product.get("stockQuantity"));
+    }
+
+    private static List<Predicate> filter(CriteriaBuilder builder, Root<Product> product, ProductFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.category() != null) {
+            predicates.add(builder.equal(builder.upper(product.get("category")), filter.category().toUpperCase(Locale.ROOT)));
+        }
+        if (filter.brand() != null) {
+            predicates.add(builder.equal(builder.upper(product.get("brand")), filter.brand().toUpperCase(Locale.ROOT)));
+        }
+        if (filter.minPrice() != null) {
+            predicates.add(builder.ge(product.get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            predicates.add(builder.le(product.get("price"), filter.maxPrice()));
+        }
+        return predicates;
+    }
+
+    /**
+     * Builds {@code key > :afterKey or (key = :afterKey and id > :afterId)}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(CriteriaBuilder builder, Root<Product> product, String sortAttribute,
+                                   Comparable afterKey, Long afterId) {
+        Predicate idAfter = builder.greaterThan(product.get(ID), afterId);
+        if (ID.equals(sortAttribute)) {
+            return idAfter;
+        }
+        Path<Comparable> key = product.get(sortAttribute);
+        return builder.or(builder.greaterThan(key, afterKey), builder.and(builder.equal(key, afterKey), idAfter));
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.bestapp.com.service;
+
+import com.bestapp.com.dto.AuditLogDTO;
+import com.bestapp.com.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last event of a page in the keyset-paginated audit query, handed to clients
+ * as an opaque URL-safe token. The next page continues strictly before this position.
+ *
+ * @param timestamp timestamp of the last event.
+ * @param id        id of the last event.
+ */
+public record AuditCursor(LocalDateTime timestamp, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static AuditCursor after(AuditLogDTO auditLog) {
+        return new AuditCursor(auditLog.getTimestamp(), auditLog.getId());
+    }
+
+    public String encode() {
+        String position = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token opaque cursor token; null for the first page.
+     * @return decoded position, or null if the token is null.
+     * @throws BadRequestException if the token is malformed.
+     */
+    public static AuditCursor decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(SEPARATOR);
+            return new AuditCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+}
@@ -1,9 +1,23 @@
 package com.bestapp.com.service;
 
+import com.bestapp.com.dto.AuditPageDTO;
 import com.bestapp.com.model.AuditLog;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface AuditLogService {
 
-    void saveAuditLog(AuditLog auditLog);
+    /**
+     * Saves a batch of audit events in one transaction.
+     */
+    void saveAuditLogs(List<AuditLog> auditLogs);
+
+    /**
+     * Returns the page of audit events following a cursor, newest first, or the first page if the
+     * cursor is null. Null conditions do not restrict.
+     */
+    AuditPageDTO findAuditLogs(String username, String methodName, LocalDateTime from, LocalDateTime to,
+                               String cursor, Integer limit);
 
 }
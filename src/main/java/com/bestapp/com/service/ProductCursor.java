@@ -0,0 +1,65 @@
+package com.bestapp.com.service;
+
+import com.bestapp.com.exception.BadRequestException;
+import com.bestapp.com.dto.ProductDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last product of a page in a keyset-paginated query.
+ * <p>
+ * It is handed to clients as an opaque URL-safe token; the next page continues strictly after
+ * this position, so its cost does not depend on how deep the client has paged.
+ * </p>
+ *
+ * @param sort order the position belongs to.
+ * @param key  value of the sort attribute of the last product, see {@link ProductSort#keyOf(ProductDTO)}.
+ * @param id   id of the last product.
+ */
+public record ProductCursor(ProductSort sort, String key, long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public static ProductCursor after(ProductSort sort, ProductDTO product) {
+        return new ProductCursor(sort, sort.keyOf(product), product.getId());
+    }
+
+    public String encode() {
+        String position = sort.name() + SEPARATOR + id + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the sort attribute value of the position in the attribute type.
+     */
+    public Comparable<?> parsedKey() {
+        return sort.parseKey(key);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token opaque cursor token; null for the first page.
+     * @param sort  order requested together with the token.
+     * @return decoded position, or null if the token is null.
+     * @throws BadRequestException if the token is malformed or was issued for another order.
+     */
+    public static ProductCursor decode(String token, ProductSort sort) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+            ProductCursor cursor = new ProductCursor(ProductSort.valueOf(parts[0]), parts[2], Long.parseLong(parts[1]));
+            if (cursor.sort() == sort) {
+                cursor.parsedKey();
+                return cursor;
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            // reported below together with a cursor issued for another order
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
+
+}
@@ -2,7 +2,16 @@ package com.bestapp.com.service;
 
 import com.bestapp.com.dto.CreateOrUpdateProductDTO;
 import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductImportResultDTO;
+import com.bestapp.com.dto.ProductFacetsDTO;
+import com.bestapp.com.dto.ProductPageDTO;
+import com.bestapp.com.dto.ProductSuggestionDTO;
+import com.bestapp.com.engine.ProductFilterCriteria;
+import com.bestapp.com.importer.ProductImportFormat;
+import com.bestapp.com.importer.ProductImportMode;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -31,19 +40,74 @@ public interface ProductService {
     List<ProductDTO> findAllProducts(Integer pageNumber, Integer pageSize);
 
     /**
-     * Returns products filtered by category.
+     * Returns the page of products following a cursor, or the first page if the cursor is null.
      */
-    List<ProductDTO> getProductsByCategory(String category);
+    ProductPageDTO findAllProducts(ProductSort sort, String cursor, Integer pageSize);
 
     /**
-     * Returns products filtered by brand.
+     * Returns a page of products filtered by category.
      */
-    List<ProductDTO> getProductsByBrand(String brand);
+    ProductPageDTO getProductsByCategory(String category, ProductSort sort, String cursor, Integer limit);
 
     /**
-     * Returns products within a price range.
+     * Returns a page of products filtered by category as a serialized JSON object.
      */
-    List<ProductDTO> getProductsByPriceRange(double min, double max);
+    byte[] getProductsByCategoryAsJson(String category, ProductSort sort, String cursor, Integer limit);
+
+    /**
+     * Returns a page of products filtered by brand.
+     */
+    ProductPageDTO getProductsByBrand(String brand, ProductSort sort, String cursor, Integer limit);
+
+    /**
+     * Returns a page of products filtered by brand as a serialized JSON object.
+     */
+    byte[] getProductsByBrandAsJson(String brand, ProductSort sort, String cursor, Integer limit);
+
+    /**
+     * Returns a page of products within a price range.
+     */
+    ProductPageDTO getProductsByPriceRange(double min, double max, ProductSort sort, String cursor, Integer limit);
+
+    /**
+     * Returns a page of products within a price range as a serialized JSON object.
+     */
+    byte[] getProductsByPriceRangeAsJson(double min, double max, ProductSort sort, String cursor, Integer limit);
+
+    /**
+     * Returns a page of products matching a full-text query, best matches first.
+     */
+    ProductPageDTO searchProducts(String query, String cursor, Integer limit);
+
+    /**
+     * Returns a page of products matching a full-text query as a serialized JSON object.
+     */
+    byte[] searchProductsAsJson(String query, String cursor, Integer limit);
+
+    /**
+     * Returns the products whose names best match typed text, from memory.
+     */
+    List<ProductSuggestionDTO> suggestProducts(String prefix, Integer limit);
+
+    /**
+     * Returns a page of products matching categories, brands, a price range and a stock range at once.
+     */
+    ProductPageDTO filterProducts(ProductFilterCriteria criteria, String cursor, Integer limit);
+
+    /**
+     * Returns the product counts per category, per brand and per price bucket.
+     */
+    ProductFacetsDTO getFacets();
+
+    /**
+     * Imports products from a streamed NDJSON or CSV body in chunks, by batched inserts or by COPY.
+     */
+    ProductImportResultDTO importProducts(InputStream input, ProductImportFormat format, ProductImportMode mode);
+
+    /**
+     * Writes all products, optionally of one category and brand, to a stream as NDJSON.
+     */
+    long exportProducts(String category, String brand, OutputStream output);
 
     /**
      * Checks whether a product with a given ID exists.
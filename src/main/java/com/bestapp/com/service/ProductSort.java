@@ -0,0 +1,120 @@
+package com.bestapp.com.service;
+
+import com.bestapp.com.exception.BadRequestException;
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductSearchHitDTO;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Orders supported by the cursor-based product queries.
+ * Every order ends with the product id, so the position of a row is unique.
+ * {@link #RELEVANCE} orders full-text search hits by descending rank and is not selectable
+ * for the other queries.
+ */
+public enum ProductSort {
+
+    ID("id"),
+    PRICE("price"),
+    NAME("name"),
+    STOCK("stockQuantity"),
+    RELEVANCE("rank");
+
+    private final String attribute;
+
+    ProductSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Returns the entity attribute the order is based on.
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Returns the value of the sort attribute of a product in its cursor form.
+     */
+    public String keyOf(ProductDTO product) {
+        return switch (this) {
+            case ID -> String.valueOf(product.getId());
+            case PRICE -> String.valueOf(product.getPrice());
+            case NAME -> product.getName();
+            case STOCK -> String.valueOf(product.getStockQuantity());
+            case RELEVANCE -> String.valueOf(((ProductSearchHitDTO) product).getRank());
+        };
+    }
+
+    /**
+     * Parses a value produced by {@link #keyOf(ProductDTO)} back to the attribute type.
+     *
+     * @throws NumberFormatException if a numeric value is malformed.
+     */
+    public Comparable<?> parseKey(String key) {
+        return switch (this) {
+            case ID -> Long.parseLong(key);
+            case PRICE -> Double.parseDouble(key);
+            case NAME -> key;
+            case STOCK -> Integer.parseInt(key);
+            case RELEVANCE -> Float.parseFloat(key);
+        };
+    }
+
+    /**
+     * Compares a product with a position in this order.
+     *
+     * @param key value of the sort attribute of the position, see {@link #parseKey(String)}.
+     * @param id  id of the position.
+     * @return a negative number, zero or a positive number as the product comes before, at or after the position.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public int compare(ProductDTO product, Comparable<?> key, long id) {
+        int byKey = ((Comparable) valueOf(product)).compareTo(key);
+        if (this == RELEVANCE) {
+            byKey = -byKey;
+        }
+        return byKey != 0 ? byKey : Long.compare(product.getId(), id);
+    }
+
+    /**
+     * Returns the order as a comparator of products, consistent with {@link #compare(ProductDTO, Comparable, long)}.
+     */
+    public Comparator<ProductDTO> comparator() {
+        return (product, other) -> compare(product, valueOf(other), other.getId());
+    }
+
+    private Comparable<?> valueOf(ProductDTO product) {
+        return switch (this) {
+            case ID -> product.getId();
+            case PRICE -> product.getPrice();
+            case NAME -> product.getName();
+            case STOCK -> product.getStockQuantity();
+            case RELEVANCE -> ((ProductSearchHitDTO) product).getRank();
+        };
+    }
+
+    /**
+     * Resolves the value of a {@code sort} request parameter.
+     *
+     * @param parameter parameter value, {@code id} if null.
+     * @return matching sort order.
+     * @throws BadRequestException if the value is not a supported order.
+     */
+    public static ProductSort fromParameter(String parameter) {
+        if (parameter == null) {
+            return ID;
+        }
+        try {
+            ProductSort sort = valueOf(parameter.toUpperCase(Locale.ROOT));
+            if (sort != RELEVANCE) {
+                return sort;
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below together with the search-only order
+        }
+        throw new BadRequestException("Unsupported sort: " + parameter);
+    }
+
+}
@@ -1,12 +1,20 @@
 package com.bestapp.com.service.impl;
 
+import com.bestapp.com.dto.AuditLogDTO;
+import com.bestapp.com.dto.AuditPageDTO;
+import com.bestapp.com.exception.BadRequestException;
 import com.bestapp.com.model.AuditLog;
+import com.bestapp.com.repository.AuditFilter;
 import com.bestapp.com.repository.AuditLogRepository;
+import com.bestapp.com.service.AuditCursor;
 import com.bestapp.com.service.AuditLogService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class AuditLogServiceImpl implements AuditLogService {
@@ -15,7 +23,26 @@ public class AuditLogServiceImpl implements AuditLogService {
 
     @Override
     @Transactional
-    public void saveAuditLog(AuditLog auditLog) {
-        auditLogRepository.save(auditLog);
+    public void saveAuditLogs(List<AuditLog> auditLogs) {
+        auditLogRepository.saveAll(auditLogs);
+    }
+
+    /**
+     * Reads one page more than requested to learn whether a next page exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AuditPageDTO findAuditLogs(String username, String methodName, LocalDateTime from, LocalDateTime to,
+                                      String cursor, Integer limit) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("Parameter 'from' must not be after 'to'");
+        }
+        int pageSize = limit == null || limit > 50 || limit <= 0 ? 50 : limit;
+        AuditCursor before = AuditCursor.decode(cursor);
+        List<AuditLogDTO> rows = auditLogRepository.findPage(new AuditFilter(username, methodName, from, to),
+                before == null ? null : before.timestamp(), before == null ? null : before.id(), pageSize + 1);
+        List<AuditLogDTO> page = rows.subList(0, Math.min(pageSize, rows.size()));
+        String nextCursor = rows.size() > pageSize ? AuditCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new AuditPageDTO(page, nextCursor);
     }
 }
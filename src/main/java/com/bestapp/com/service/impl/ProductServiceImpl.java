@@ -1,32 +1,92 @@
 package com.bestapp.com.service.impl;
 
+import com.bestapp.com.cache.CacheKeys;
 import com.bestapp.com.cache.CacheType;
 import com.bestapp.com.cache.ProductCache;
+import com.bestapp.com.cache.ProductSnapshot;
+import com.bestapp.com.catalog.ProductCatalogLoader;
 import com.bestapp.com.dto.CreateOrUpdateProductDTO;
 import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductImportResultDTO;
+import com.bestapp.com.dto.ProductFacetsDTO;
+import com.bestapp.com.dto.ProductPageDTO;
+import com.bestapp.com.dto.ProductSearchHitDTO;
+import com.bestapp.com.dto.ProductSuggestionDTO;
+import com.bestapp.com.engine.ProductFilterCriteria;
+import com.bestapp.com.engine.ProductFilterEngine;
+import com.bestapp.com.engine.ProductPriceIndex;
+import com.bestapp.com.exception.BadRequestException;
 import com.bestapp.com.exception.ProductNotFoundException;
+import com.bestapp.com.exporter.ProductExporter;
+import com.bestapp.com.facet.ProductFacets;
+import com.bestapp.com.importer.ProductCopyImporter;
+import com.bestapp.com.importer.ProductImportFormat;
+import com.bestapp.com.importer.ProductImportMode;
+import com.bestapp.com.importer.ProductImporter;
 import com.bestapp.com.model.Product;
+import com.bestapp.com.repository.ProductFilter;
 import com.bestapp.com.repository.ProductRepository;
+import com.bestapp.com.service.ProductCursor;
 import com.bestapp.com.service.ProductMapper;
 import com.bestapp.com.service.ProductService;
+import com.bestapp.com.service.ProductSort;
+import com.bestapp.com.suggest.ProductNameIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
 
 /**
  * Implementation of {@link ProductService} that handles business logic for managing products.
  * <p>This class acts as a service layer between controllers and storage:
  * it delegates CRUD operations to {@link ProductRepository}.</p>
+ * <p>Writes invalidate only the cache entries the product belonged to before and after the change;
+ * creations and deletions also drop the listing pages at or after the product's position.
+ * Entries are invalidated both before and after the commit, so a read that loaded the old row
+ * while the transaction ran cannot leave it cached, and once more after the replica lag, so a
+ * read of the not yet replicated row by another session is not cached for the full time-to-live.
+ * Committed writes are applied to the in-memory name index that serves suggestions, to the
+ * facet counters, to the filter engine and to the price index.</p>
  */
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
-    private final ProductCache cache = new ProductCache();
+    private final ProductCache cache;
+    private final ObjectMapper objectMapper;
+    private final ProductImporter productImporter;
+    private final ProductCopyImporter productCopyImporter;
+    private final ProductExporter productExporter;
+    private final ProductNameIndex productNameIndex;
+    private final ProductFacets productFacets;
+    private final ProductFilterEngine productFilterEngine;
+    private final ProductPriceIndex productPriceIndex;
+    private final ProductCatalogLoader productCatalogLoader;
+
+    /**
+     * Number of listing pages fetched by one query when a client walks the pages in order.
+     */
+    private static final int PREFETCH_PAGES = 4;
+
+    /**
+     * Maximal length of a full-text search query.
+     */
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    /**
+     * Number of suggestions returned when the client does not ask for a valid number.
+     */
+    private static final int DEFAULT_SUGGESTIONS = 10;
 
     /**
      * Saves a new product into the repository.
@@ -38,7 +98,20 @@ public class ProductServiceImpl implements ProductService {
     public ProductDTO createProduct(CreateOrUpdateProductDTO createOrUpdateProductDTO) {
         Product createdProduct = productRepository.save(ProductMapper.INSTANCE.createOrUpdateProductDTOtoProduct(createOrUpdateProductDTO));
         ProductDTO productDTO = ProductMapper.INSTANCE.productToProductDTO(createdProduct);
-        cache.clearAll();
+        ProductSnapshot created = ProductSnapshot.of(createdProduct);
+        Runnable invalidation = () -> {
+            cache.invalidatePagesFrom(created.id());
+            cache.invalidateProduct(created);
+        };
+        invalidation.run();
+        afterCommit(() -> {
+            invalidation.run();
+            cache.invalidateAfterReplicaLag(invalidation);
+            productNameIndex.put(productDTO.getId(), productDTO.getName());
+            productFacets.added(created);
+            productFilterEngine.put(productDTO);
+            productPriceIndex.put(productDTO);
+        });
         return productDTO;
     }
 
@@ -50,8 +123,21 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Transactional
     public void deleteProductById(Long id) {
+        Optional<ProductSnapshot> deleted = productRepository.findById(id).map(ProductSnapshot::of);
         productRepository.deleteById(id);
-        cache.clearAll();
+        Runnable invalidation = () -> {
+            cache.invalidatePagesFrom(id);
+            cache.invalidateProduct(deleted.orElseGet(() -> ProductSnapshot.ofId(id)));
+        };
+        invalidation.run();
+        afterCommit(() -> {
+            invalidation.run();
+            cache.invalidateAfterReplicaLag(invalidation);
+            productNameIndex.remove(id);
+            deleted.ifPresent(productFacets::removed);
+            productFilterEngine.remove(id);
+            productPriceIndex.remove(id);
+        });
     }
 
     /**
@@ -64,17 +150,27 @@ public class ProductServiceImpl implements ProductService {
     @Transactional
     public ProductDTO updateProduct(Long id, CreateOrUpdateProductDTO createOrUpdateProductDTO) {
         Product product = productRepository.findById(id).orElseThrow(ProductNotFoundException::new);
+        ProductSnapshot before = ProductSnapshot.of(product);
         ProductMapper.INSTANCE.updateProduct(createOrUpdateProductDTO, product);
         product = productRepository.save(product);
         ProductDTO productDTO = ProductMapper.INSTANCE.productToProductDTO(product);
-        cache.clearAll();
+        ProductSnapshot after = ProductSnapshot.of(product);
+        cache.invalidateProduct(before, after);
+        afterCommit(() -> {
+            cache.invalidateProduct(before, after);
+            cache.invalidateAfterReplicaLag(() -> cache.invalidateProduct(before, after));
+            productNameIndex.put(id, productDTO.getName());
+            productFacets.changed(before, after);
+            productFilterEngine.put(productDTO);
+            productPriceIndex.put(productDTO);
+        });
         return productDTO;
     }
 
     /**
-     * Returns all products, using cache if available.
+     * Returns a page of all products ordered by id, using cache if available.
      *
-     * @return list of all products in storage
+     * @return list of products on the requested page
      */
     @Override
     @Transactional(readOnly = true)
@@ -82,70 +178,247 @@ public class ProductServiceImpl implements ProductService {
         if (pageSize > 50 || pageSize <= 0) {
             pageSize = 50;
         }
-        PageRequest pageRequest = PageRequest.of(pageNumber - 1, pageSize);
-        List<Product> cached = cache.getFromCache("all", CacheType.ALL);
-        if (!cached.isEmpty()) {
-            return ProductMapper.INSTANCE.productListToProductDTOList(cached);
+        int size = pageSize;
+        return cache.getFromCache(CacheKeys.page(pageNumber, size), CacheType.ALL, k -> loadPage(pageNumber, size));
+    }
+
+    /**
+     * Returns the page of products following a cursor. The page is read with a seek on the sort
+     * columns, so every page costs the same index range scan whatever its depth.
+     *
+     * @return products of the page and the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductPageDTO findAllProducts(ProductSort sort, String cursor, Integer pageSize) {
+        int limit = limit(pageSize);
+        return toPage(loadWindow(ProductFilter.all(), sort, ProductCursor.decode(cursor, sort), limit + 1), sort, limit);
+    }
+
+    /**
+     * Loads a listing page. When the previous full page is cached the client is walking the pages
+     * in order, so this and the next pages are read in one keyset query after the last id of the
+     * previous page instead of an OFFSET scan, and the following pages are cached ahead.
+     */
+    private List<ProductDTO> loadPage(int pageNumber, int pageSize) {
+        List<ProductDTO> previous = pageNumber > 1
+                ? cache.getFromCache(CacheKeys.page(pageNumber - 1, pageSize), CacheType.ALL).orElse(List.of())
+                : List.of();
+        if (previous.size() < pageSize) {
+            return productRepository.findPageAt((pageNumber - 1) * pageSize, pageSize);
+        }
+        Long lastId = previous.get(previous.size() - 1).getId();
+        List<ProductDTO> rows = productRepository.findPage(ProductFilter.all(), ProductSort.ID.attribute(), null, lastId,
+                PREFETCH_PAGES * pageSize);
+        for (int from = pageSize, next = pageNumber + 1; from < rows.size(); from += pageSize, next++) {
+            cache.addToCache(CacheKeys.page(next, pageSize), CacheType.ALL,
+                    rows.subList(from, Math.min(from + pageSize, rows.size())));
         }
-        List<Product> all = productRepository.findAll(pageRequest).getContent();
-        cache.addToCache("all", CacheType.ALL, all);
-        return ProductMapper.INSTANCE.productListToProductDTOList(all);
+        return rows.subList(0, Math.min(pageSize, rows.size()));
     }
 
     /**
-     * Returns products filtered by category, with caching.
+     * Returns a page of products filtered by category, with caching.
      *
      * @param category category string
-     * @return list of matching products
+     * @param sort     page order
+     * @param cursor   cursor of the page, null for the first page
+     * @param limit    page size
+     * @return matching products of the page and the cursor of the next page
      */
     @Override
     @Transactional(readOnly = true)
-    public List<ProductDTO> getProductsByCategory(String category) {
-        List<Product> cached = cache.getFromCache(category, CacheType.CATEGORY);
-        if (!cached.isEmpty()) {
-            return ProductMapper.INSTANCE.productListToProductDTOList(cached);
-        }
-        List<Product> result = productRepository.findByCategoryIgnoreCase(category);
-        cache.addToCache(category, CacheType.CATEGORY, result);
-        return ProductMapper.INSTANCE.productListToProductDTOList(result);
+    public ProductPageDTO getProductsByCategory(String category, ProductSort sort, String cursor, Integer limit) {
+        return findWindow(CacheType.CATEGORY, CacheKeys.category(category), ProductFilter.category(category), sort, cursor, limit);
     }
 
     /**
-     * Returns products filtered by brand, using cache.
+     * Returns a page of products filtered by category as JSON, serialized once per cache entry.
      *
-     * @param brand brand name
-     * @return list of products with given brand
+     * @param category category string
+     * @param sort     page order
+     * @param cursor   cursor of the page, null for the first page
+     * @param limit    page size
+     * @return JSON page of matching products
      */
     @Override
     @Transactional(readOnly = true)
-    public List<ProductDTO> getProductsByBrand(String brand) {
-        List<Product> cached = cache.getFromCache(brand, CacheType.BRAND);
-        if (!cached.isEmpty()) {
-            return ProductMapper.INSTANCE.productListToProductDTOList(cached);
-        }
-        List<Product> result = productRepository.findByBrandIgnoreCase(brand);
-        cache.addToCache(brand, CacheType.BRAND, result);
-        return ProductMapper.INSTANCE.productListToProductDTOList(result);
+    public byte[] getProductsByCategoryAsJson(String category, ProductSort sort, String cursor, Integer limit) {
+        return findWindowAsJson(CacheType.CATEGORY, CacheKeys.category(category), ProductFilter.category(category), sort, cursor, limit);
     }
 
     /**
-     * Returns products within price range.
+     * Returns a page of products filtered by brand, using cache.
      *
-     * @param min minimum price (inclusive)
-     * @param max maximum price (inclusive)
-     * @return list of products in price range
+     * @param brand  brand name
+     * @param sort   page order
+     * @param cursor cursor of the page, null for the first page
+     * @param limit  page size
+     * @return products with given brand of the page and the cursor of the next page
      */
     @Override
     @Transactional(readOnly = true)
-    public List<ProductDTO> getProductsByPriceRange(double min, double max) {
-        String key = min + "-" + max;
-        List<Product> cached = cache.getFromCache(key, CacheType.PRICE);
-        if (!cached.isEmpty()) {
-            return ProductMapper.INSTANCE.productListToProductDTOList(cached);
+    public ProductPageDTO getProductsByBrand(String brand, ProductSort sort, String cursor, Integer limit) {
+        return findWindow(CacheType.BRAND, CacheKeys.brand(brand), ProductFilter.brand(brand), sort, cursor, limit);
+    }
+
+    /**
+     * Returns a page of products filtered by brand as JSON, serialized once per cache entry.
+     *
+     * @param brand  brand name
+     * @param sort   page order
+     * @param cursor cursor of the page, null for the first page
+     * @param limit  page size
+     * @return JSON page of products with given brand
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getProductsByBrandAsJson(String brand, ProductSort sort, String cursor, Integer limit) {
+        return findWindowAsJson(CacheType.BRAND, CacheKeys.brand(brand), ProductFilter.brand(brand), sort, cursor, limit);
+    }
+
+    /**
+     * Returns a page of products within price range from the in-memory price index, without a
+     * database query.
+     *
+     * @param min    minimum price (inclusive)
+     * @param max    maximum price (inclusive)
+     * @param sort   page order
+     * @param cursor cursor of the page, null for the first page
+     * @param limit  page size
+     * @return products in price range of the page and the cursor of the next page
+     */
+    @Override
+    public ProductPageDTO getProductsByPriceRange(double min, double max, ProductSort sort, String cursor, Integer limit) {
+        return findPriceRange(min, max, sort, cursor, limit);
+    }
+
+    /**
+     * Returns a page of products within price range as JSON.
+     *
+     * @param min    minimum price (inclusive)
+     * @param max    maximum price (inclusive)
+     * @param sort   page order
+     * @param cursor cursor of the page, null for the first page
+     * @param limit  page size
+     * @return JSON page of products in price range
+     */
+    @Override
+    public byte[] getProductsByPriceRangeAsJson(double min, double max, ProductSort sort, String cursor, Integer limit) {
+        return toJson(findPriceRange(min, max, sort, cursor, limit));
+    }
+
+    /**
+     * Returns a page of products matching a full-text query, with caching. Pages are read with a
+     * seek on the rank and id of the last hit, so every page costs the same whatever its depth.
+     *
+     * @param query  search query
+     * @param cursor cursor of the page, null for the first page
+     * @param limit  page size
+     * @return matching products of the page and the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductPageDTO searchProducts(String query, String cursor, Integer limit) {
+        String searchKey = searchKey(query);
+        return findWindow(CacheType.SEARCH, searchKey, ProductSort.RELEVANCE, cursor, limit,
+                (after, rows) -> loadSearch(searchKey, after, rows));
+    }
+
+    /**
+     * Returns a page of products matching a full-text query as JSON, serialized once per cache entry.
+     *
+     * @param query  search query
+     * @param cursor cursor of the page, null for the first page
+     * @param limit  page size
+     * @return JSON page of matching products
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] searchProductsAsJson(String query, String cursor, Integer limit) {
+        String searchKey = searchKey(query);
+        return findWindowAsJson(CacheType.SEARCH, searchKey, ProductSort.RELEVANCE, cursor, limit,
+                (after, rows) -> loadSearch(searchKey, after, rows));
+    }
+
+    /**
+     * Returns the best matches of the typed text among product names from the in-memory name index,
+     * without a database query.
+     *
+     * @param prefix typed text
+     * @param limit  maximal number of suggestions
+     * @return matching products, best match first
+     */
+    @Override
+    public List<ProductSuggestionDTO> suggestProducts(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Prefix must not be blank");
+        }
+        return productNameIndex.suggest(prefix, limit == null || limit > 50 || limit <= 0 ? DEFAULT_SUGGESTIONS : limit);
+    }
+
+    /**
+     * Returns a page of products matching a combination of conditions in id order, answered by the
+     * in-memory filter engine without a database query.
+     *
+     * @param criteria categories, brands, price and stock bounds
+     * @param cursor   cursor of the page, null for the first page
+     * @param limit    page size
+     * @return matching products of the page and the cursor of the next page
+     */
+    @Override
+    public ProductPageDTO filterProducts(ProductFilterCriteria criteria, String cursor, Integer limit) {
+        int pageSize = limit(limit);
+        ProductCursor after = ProductCursor.decode(cursor, ProductSort.ID);
+        return toPage(productFilterEngine.filter(criteria, after == null ? null : after.id(), pageSize + 1),
+                ProductSort.ID, pageSize);
+    }
+
+    /**
+     * Returns the product counts per category, per brand and per price bucket from the in-memory
+     * counters, without a database query.
+     *
+     * @return facet counts
+     */
+    @Override
+    public ProductFacetsDTO getFacets() {
+        return productFacets.snapshot();
+    }
+
+    /**
+     * Imports products from a streamed body, saving them in chunked transactions.
+     * The in-memory name index, facets, filter engine and price index are rebuilt afterwards in one pass over the
+     * products, as COPY merges rows the service never sees.
+     *
+     * @param input  NDJSON or CSV body
+     * @param format body format
+     * @param mode   batched inserts, or COPY merged by name and brand
+     * @return number of imported rows and the import throughput
+     */
+    @Override
+    public ProductImportResultDTO importProducts(InputStream input, ProductImportFormat format, ProductImportMode mode) {
+        try {
+            return switch (mode) {
+                case BATCH -> productImporter.importProducts(input, format);
+                case COPY -> productCopyImporter.importProducts(input, format);
+            };
+        } finally {
+            // chunks committed before a failure stay imported, so they are indexed and counted as well
+            productCatalogLoader.load();
         }
-        List<Product> result = productRepository.findByPriceBetween(min, max);
-        cache.addToCache(key, CacheType.PRICE, result);
-        return ProductMapper.INSTANCE.productListToProductDTOList(result);
+    }
+
+    /**
+     * Streams products from a database cursor to the output as NDJSON.
+     *
+     * @param category category to export, or null for all categories
+     * @param brand    brand to export, or null for all brands
+     * @param output   target stream
+     * @return number of exported products
+     */
+    @Override
+    public long exportProducts(String category, String brand, OutputStream output) {
+        return productExporter.export(new ProductFilter(category, brand, null, null), output);
     }
 
     /**
@@ -156,4 +429,124 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.existsById(id);
     }
 
+    /**
+     * Returns a cached page of a query. The cache entry holds the rows of the page plus the first
+     * row of the next page, which only tells whether a next cursor is issued.
+     */
+    private ProductPageDTO findWindow(CacheType type, String queryKey, ProductFilter filter, ProductSort sort,
+                                      String cursor, Integer pageSize) {
+        return findWindow(type, queryKey, sort, cursor, pageSize, (after, rows) -> loadWindow(filter, sort, after, rows));
+    }
+
+    /**
+     * @param loader loads the given number of rows after a position, see {@link #loadWindow}.
+     */
+    private ProductPageDTO findWindow(CacheType type, String queryKey, ProductSort sort, String cursor, Integer pageSize,
+                                      BiFunction<ProductCursor, Integer, List<? extends ProductDTO>> loader) {
+        int limit = limit(pageSize);
+        ProductCursor after = ProductCursor.decode(cursor, sort);
+        List<ProductDTO> rows = cache.getFromCache(CacheKeys.window(queryKey, sort.name(), cursor, limit), type,
+                k -> List.copyOf(loader.apply(after, limit + 1)));
+        return toPage(rows, sort, limit);
+    }
+
+    private byte[] findWindowAsJson(CacheType type, String queryKey, ProductFilter filter, ProductSort sort,
+                                    String cursor, Integer pageSize) {
+        return findWindowAsJson(type, queryKey, sort, cursor, pageSize, (after, rows) -> loadWindow(filter, sort, after, rows));
+    }
+
+    private byte[] findWindowAsJson(CacheType type, String queryKey, ProductSort sort, String cursor, Integer pageSize,
+                                    BiFunction<ProductCursor, Integer, List<? extends ProductDTO>> loader) {
+        int limit = limit(pageSize);
+        ProductCursor after = ProductCursor.decode(cursor, sort);
+        return cache.getSerialized(CacheKeys.window(queryKey, sort.name(), cursor, limit), type,
+                k -> List.copyOf(loader.apply(after, limit + 1)), rows -> toJson(toPage(rows, sort, limit)));
+    }
+
+    /**
+     * Loads the rows of a page plus the first row of the next page.
+     */
+    private List<ProductDTO> loadWindow(ProductFilter filter, ProductSort sort, ProductCursor after, int rows) {
+        return productRepository.findPage(filter, sort.attribute(), after == null ? null : after.parsedKey(),
+                after == null ? null : after.id(), rows);
+    }
+
+    /**
+     * Returns a price range page from the in-memory price index. The public variants call this
+     * rather than each other, so an audited call writes one audit row.
+     */
+    private ProductPageDTO findPriceRange(double min, double max, ProductSort sort, String cursor, Integer limit) {
+        int pageSize = limit(limit);
+        return toPage(loadPriceRange(min, max, sort, ProductCursor.decode(cursor, sort), pageSize + 1), sort, pageSize);
+    }
+
+    /**
+     * Loads the rows of a price range page plus the first row of the next page. The price order is
+     * read as a slice of the index; other orders select the page from the whole range.
+     */
+    private List<ProductDTO> loadPriceRange(double min, double max, ProductSort sort, ProductCursor after, int rows) {
+        if (sort == ProductSort.PRICE) {
+            return productPriceIndex.findByPrice(min, max, after == null ? null : (Double) after.parsedKey(),
+                    after == null ? null : after.id(), rows);
+        }
+        if (after == null) {
+            return productPriceIndex.find(min, max, sort.comparator(), product -> true, rows);
+        }
+        Comparable<?> key = after.parsedKey();
+        return productPriceIndex.find(min, max, sort.comparator(), product -> sort.compare(product, key, after.id()) > 0, rows);
+    }
+
+    private List<ProductSearchHitDTO> loadSearch(String searchKey, ProductCursor after, int rows) {
+        return productRepository.search(searchKey, after == null ? null : (Float) after.parsedKey(),
+                after == null ? null : after.id(), rows);
+    }
+
+    /**
+     * Normalizes a search query to its cache key, which is also what is sent to the database.
+     */
+    private static String searchKey(String query) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        return CacheKeys.search(query);
+    }
+
+    private static ProductPageDTO toPage(List<ProductDTO> rows, ProductSort sort, int limit) {
+        List<ProductDTO> page = rows.subList(0, Math.min(limit, rows.size()));
+        String nextCursor = rows.size() > limit ? ProductCursor.after(sort, page.get(page.size() - 1)).encode() : null;
+        return new ProductPageDTO(page, nextCursor);
+    }
+
+    /**
+     * Runs an index or cache update once the current transaction commits, so a rolled back write
+     * never shows up in suggestions; outside a transaction it runs at once.
+     */
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static int limit(Integer pageSize) {
+        return pageSize == null || pageSize > 50 || pageSize <= 0 ? 50 : pageSize;
+    }
+
+    private byte[] toJson(ProductPageDTO page) {
+        try {
+            return objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize products", e);
+        }
+    }
+
 }
@@ -0,0 +1,158 @@
+package com.bestapp.com.suggest;
+
+import java.util.Arrays;
+
+/**
+ * Ascending list of document numbers that contain an n-gram.
+ * <p>
+ * Documents are appended in increasing order. Every {@value #BLOCK_SIZE} documents are sealed into
+ * a block that keeps its first and last document as plain ints and the gaps between the others as
+ * variable-length bytes, so most gaps take a single byte; the last, partial block stays an int
+ * array. A {@link Cursor} skips whole blocks by their last document without decoding them.
+ * </p>
+ * Not thread-safe; {@link ProductNameIndex} guards it.
+ */
+final class PostingList {
+
+    static final int BLOCK_SIZE = 128;
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    private static final int[] EMPTY = new int[0];
+
+    private byte[][] blocks = new byte[0][];
+    private int[] firstDocs = EMPTY;
+    private int[] lastDocs = EMPTY;
+    private int blockCount;
+    private int[] tail = new int[4];
+    private int tailSize;
+
+    /**
+     * Appends a document.
+     *
+     * @param doc document number, greater than every document already added.
+     */
+    void add(int doc) {
+        if (tailSize == tail.length) {
+            tail = Arrays.copyOf(tail, Math.min(tail.length * 2, BLOCK_SIZE));
+        }
+        tail[tailSize++] = doc;
+        if (tailSize == BLOCK_SIZE) {
+            seal();
+        }
+    }
+
+    int size() {
+        return blockCount * BLOCK_SIZE + tailSize;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void seal() {
+        if (blockCount == blocks.length) {
+            int capacity = Math.max(4, blockCount * 2);
+            blocks = Arrays.copyOf(blocks, capacity);
+            firstDocs = Arrays.copyOf(firstDocs, capacity);
+            lastDocs = Arrays.copyOf(lastDocs, capacity);
+        }
+        byte[] gaps = new byte[(BLOCK_SIZE - 1) * 5];
+        int length = 0;
+        for (int i = 1; i < BLOCK_SIZE; i++) {
+            int gap = tail[i] - tail[i - 1];
+            while ((gap & ~0x7F) != 0) {
+                gaps[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            gaps[length++] = (byte) gap;
+        }
+        blocks[blockCount] = Arrays.copyOf(gaps, length);
+        firstDocs[blockCount] = tail[0];
+        lastDocs[blockCount] = tail[BLOCK_SIZE - 1];
+        blockCount++;
+        tail = new int[4];
+        tailSize = 0;
+    }
+
+    private int decode(int block, int[] buffer) {
+        byte[] gaps = blocks[block];
+        int doc = firstDocs[block];
+        buffer[0] = doc;
+        int position = 0;
+        for (int i = 1; i < BLOCK_SIZE; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = gaps[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += gap;
+            buffer[i] = doc;
+        }
+        return BLOCK_SIZE;
+    }
+
+    /**
+     * Forward-only iterator over the documents of the list.
+     */
+    final class Cursor {
+
+        private final int[] buffer = new int[BLOCK_SIZE];
+        private int[] current = EMPTY;
+        private int length;
+        private int position;
+        private int block = -1;
+        private int doc = -1;
+
+        /**
+         * Moves to the first document at or after a target; stays on the current document if it
+         * is already there.
+         *
+         * @param target smallest acceptable document number.
+         * @return the document, or {@link #NO_MORE_DOCS} if the list is exhausted.
+         */
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            while (true) {
+                while (position < length) {
+                    int candidate = current[position++];
+                    if (candidate >= target) {
+                        return doc = candidate;
+                    }
+                }
+                if (!load(target)) {
+                    return doc = NO_MORE_DOCS;
+                }
+            }
+        }
+
+        /**
+         * Loads the next block that may contain the target, skipping blocks ending before it.
+         */
+        private boolean load(int target) {
+            block++;
+            while (block < blockCount && lastDocs[block] < target) {
+                block++;
+            }
+            position = 0;
+            if (block < blockCount) {
+                length = decode(block, buffer);
+                current = buffer;
+                return true;
+            }
+            if (block == blockCount && tailSize > 0) {
+                length = tailSize;
+                current = tail;
+                return true;
+            }
+            length = 0;
+            return false;
+        }
+
+    }
+
+}
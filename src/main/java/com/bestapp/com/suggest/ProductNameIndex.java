@@ -0,0 +1,309 @@
+package com.bestapp.com.suggest;
+
+import com.bestapp.com.catalog.CatalogRebuild;
+import com.bestapp.com.catalog.InMemoryCatalog;
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductSuggestionDTO;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index of product names for search-as-you-type.
+ * <p>
+ * Names are split into lower-case words and every word is indexed by its first letter and by the
+ * trigrams of the word prefixed with a start marker, so {@code "mou"} is looked up as
+ * {@code "^mo"} and {@code "mou"}. A suggestion intersects the {@link PostingList}s of the grams of
+ * every typed word and then checks that each typed word starts a word of the name, which drops
+ * the candidates whose grams only occur apart. Matches are ranked by whether the name starts with
+ * the typed text, then by name length.
+ * </p>
+ * <p>
+ * Products are numbered densely in insertion order, so posting lists only ever grow at the end.
+ * A rename or removal marks the old number deleted; once most numbers are deleted the index is
+ * compacted. Reads share a lock and never touch the database.
+ * </p>
+ */
+public class ProductNameIndex implements InMemoryCatalog {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char WORD_START = '^';
+    private static final int GRAM_LENGTH = 3;
+    private static final int COMPACTION_MIN_DOCS = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private List<Consumer<Segment>> writesDuringRebuild;
+
+    /**
+     * Adds a product or replaces the name of an indexed product.
+     *
+     * @param productId product id.
+     * @param name      product name.
+     */
+    public void put(long productId, String name) {
+        write(target -> target.put(productId, name));
+    }
+
+    /**
+     * Removes a product; unknown ids are ignored.
+     *
+     * @param productId product id.
+     */
+    public void remove(long productId) {
+        write(target -> target.remove(productId));
+    }
+
+    /**
+     * Starts replacing the content of the index. The index keeps serving the previous content
+     * while the new one is built; writes made meanwhile are applied to both.
+     */
+    @Override
+    public CatalogRebuild startRebuild() {
+        lock.writeLock().lock();
+        try {
+            if (writesDuringRebuild != null) {
+                throw new IllegalStateException("A rebuild of the index is already running");
+            }
+            writesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Segment rebuilt = new Segment();
+        return new CatalogRebuild() {
+
+            @Override
+            public void add(ProductDTO product) {
+                rebuilt.put(product.getId(), product.getName());
+            }
+
+            @Override
+            public void finish() {
+                lock.writeLock().lock();
+                try {
+                    writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                    segment = rebuilt.needsCompaction() ? rebuilt.compacted() : rebuilt;
+                    writesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            @Override
+            public void abandon() {
+                lock.writeLock().lock();
+                try {
+                    writesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the best matches for typed text. Every typed word must start a word of the name;
+     * the last one is usually incomplete.
+     *
+     * @param prefix typed text.
+     * @param limit  maximal number of suggestions.
+     * @return matching products, best match first; empty if the text has no words.
+     */
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        List<String> words = words(prefix);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return segment.suggest(words, String.join(" ", words), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed products.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Segment> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(segment);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+            if (segment.needsCompaction()) {
+                segment = segment.compacted();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<String> words(String text) {
+        return Arrays.stream(WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Grams a word is indexed by: the start marker with its first letter and the trigrams of the
+     * marked word. A typed word is looked up by its trigrams, or by the first gram if it is a
+     * single letter.
+     */
+    private static Set<String> grams(String word, boolean indexed, Set<String> grams) {
+        String marked = WORD_START + word;
+        if (indexed || marked.length() < GRAM_LENGTH) {
+            grams.add(marked.substring(0, GRAM_LENGTH - 1));
+        }
+        for (int i = 0; i + GRAM_LENGTH <= marked.length(); i++) {
+            grams.add(marked.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private record Candidate(int doc, boolean leading, String name, long productId) {
+    }
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparing((Candidate candidate) -> !candidate.leading())
+            .thenComparingInt(candidate -> candidate.name().length())
+            .thenComparing(Candidate::name)
+            .thenComparingLong(Candidate::productId);
+
+    /**
+     * Documents and posting lists of one generation of the index.
+     */
+    private static final class Segment {
+
+        private final Map<String, PostingList> postings = new HashMap<>();
+        private final Map<Long, Integer> docsByProductId = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private long[] productIds = new long[1024];
+        private String[] names = new String[1024];
+        private String[] normalizedNames = new String[1024];
+        private int docCount;
+        private int liveDocs;
+
+        void put(long productId, String name) {
+            Integer existing = docsByProductId.get(productId);
+            if (existing != null && names[existing].equals(name)) {
+                return;
+            }
+            remove(productId);
+            if (docCount == productIds.length) {
+                productIds = Arrays.copyOf(productIds, docCount * 2);
+                names = Arrays.copyOf(names, docCount * 2);
+                normalizedNames = Arrays.copyOf(normalizedNames, docCount * 2);
+            }
+            int doc = docCount++;
+            List<String> words = words(name);
+            productIds[doc] = productId;
+            names[doc] = name;
+            normalizedNames[doc] = String.join(" ", words);
+            Set<String> grams = new HashSet<>();
+            words.forEach(word -> grams(word, true, grams));
+            grams.forEach(gram -> postings.computeIfAbsent(gram, g -> new PostingList()).add(doc));
+            docsByProductId.put(productId, doc);
+            liveDocs++;
+        }
+
+        void remove(long productId) {
+            Integer doc = docsByProductId.remove(productId);
+            if (doc != null) {
+                deleted.set(doc);
+                names[doc] = null;
+                normalizedNames[doc] = null;
+                liveDocs--;
+            }
+        }
+
+        boolean needsCompaction() {
+            return docCount >= COMPACTION_MIN_DOCS && liveDocs < docCount / 2;
+        }
+
+        Segment compacted() {
+            Segment compacted = new Segment();
+            for (int doc = deleted.nextClearBit(0); doc < docCount; doc = deleted.nextClearBit(doc + 1)) {
+                compacted.put(productIds[doc], names[doc]);
+            }
+            return compacted;
+        }
+
+        List<ProductSuggestionDTO> suggest(List<String> words, String typed, int limit) {
+            Set<String> grams = new HashSet<>();
+            words.forEach(word -> grams(word, false, grams));
+            List<PostingList> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            PostingList.Cursor[] cursors = lists.stream().map(PostingList::cursor).toArray(PostingList.Cursor[]::new);
+
+            PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            int target = 0;
+            intersect:
+            while (true) {
+                int doc = cursors[0].advance(target);
+                if (doc == PostingList.NO_MORE_DOCS) {
+                    break;
+                }
+                for (int i = 1; i < cursors.length; i++) {
+                    int other = cursors[i].advance(doc);
+                    if (other == PostingList.NO_MORE_DOCS) {
+                        break intersect;
+                    }
+                    if (other != doc) {
+                        target = other;
+                        continue intersect;
+                    }
+                }
+                target = doc + 1;
+                if (!deleted.get(doc) && startsWords(normalizedNames[doc], words)) {
+                    best.add(new Candidate(doc, normalizedNames[doc].startsWith(typed), names[doc], productIds[doc]));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            return best.stream()
+                    .sorted(BEST_FIRST)
+                    .map(candidate -> new ProductSuggestionDTO(candidate.productId(), candidate.name()))
+                    .toList();
+        }
+
+        /**
+         * Checks that every typed word starts some word of a normalized name.
+         */
+        private static boolean startsWords(String normalizedName, List<String> words) {
+            for (String word : words) {
+                int from = normalizedName.indexOf(word);
+                while (from > 0 && normalizedName.charAt(from - 1) != ' ') {
+                    from = normalizedName.indexOf(word, from + 1);
+                }
+                if (from < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.bestapp.ProductCatalog.aspect;
+
+import com.bestapp.com.aspect.AuditAspect;
+import com.bestapp.com.audit.AuditBackpressure;
+import com.bestapp.com.audit.AuditLogWriter;
+import com.bestapp.com.audit.AuditParameterEncoder;
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductPageDTO;
+import com.bestapp.com.exception.ProductNotFoundException;
+import com.bestapp.com.model.AuditLog;
+import com.bestapp.com.service.AuditLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditAspectTest {
+
+    private final List<AuditLog> saved = new ArrayList<>();
+    private final AuditLogWriter writer = new AuditLogWriter(savingTo(saved),
+            new AuditParameterEncoder(new ObjectMapper(), 256, 20, Set.of()), 100, 10, Duration.ofMinutes(1),
+            AuditBackpressure.BLOCK, 1);
+    private final AuditAspect aspect = new AuditAspect(writer, mock(HttpServletRequest.class));
+
+    private static AuditLogService savingTo(List<AuditLog> saved) {
+        AuditLogService auditLogService = mock(AuditLogService.class);
+        doAnswer(invocation -> saved.addAll(invocation.getArgument(0))).when(auditLogService).saveAuditLogs(anyList());
+        return auditLogService;
+    }
+
+    private static ProceedingJoinPoint joinPoint(String methodName, Object... args) {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn(methodName);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(args);
+        return joinPoint;
+    }
+
+    @Test
+    @DisplayName("Every invocation should be recorded once with its duration, outcome and result size")
+    void invocationShouldBeRecordedOnce() throws Throwable {
+        ProceedingJoinPoint findAll = joinPoint("findAllProducts", "ID", null, 2);
+        ProductPageDTO page = new ProductPageDTO(List.of(new ProductDTO(), new ProductDTO()), "cursor");
+        when(findAll.proceed()).thenReturn(page);
+        ProceedingJoinPoint update = joinPoint("updateProduct", 7L);
+        when(update.proceed()).thenThrow(new ProductNotFoundException());
+
+        assertSame(page, aspect.audit(findAll));
+        assertThrows(ProductNotFoundException.class, () -> aspect.audit(update));
+        writer.close();
+
+        assertEquals(2, saved.size());
+        AuditLog success = saved.get(0);
+        assertEquals("findAllProducts", success.getMethodName());
+        assertEquals("[\"ID\",null,2]", success.getParameters());
+        assertNull(success.getArguments());
+        assertEquals(AuditLog.SUCCESS, success.getOutcome());
+        assertEquals(2, success.getResultSize());
+        assertTrue(success.getDurationNanos() >= 0);
+        AuditLog failure = saved.get(1);
+        assertEquals(ProductNotFoundException.class.getName(), failure.getOutcome());
+        assertNull(failure.getResultSize());
+        assertEquals("unknown_user", failure.getUsername());
+    }
+
+}
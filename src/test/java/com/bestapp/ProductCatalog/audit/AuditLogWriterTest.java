@@ -0,0 +1,103 @@
+package com.bestapp.ProductCatalog.audit;
+
+import com.bestapp.com.audit.AuditBackpressure;
+import com.bestapp.com.audit.AuditLogWriter;
+import com.bestapp.com.audit.AuditParameterEncoder;
+import com.bestapp.com.audit.AuditWriterStats;
+import com.bestapp.com.model.AuditLog;
+import com.bestapp.com.service.AuditLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class AuditLogWriterTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    private AuditLogWriter writer(int capacity, int batchSize, Duration flushInterval, AuditBackpressure backpressure) {
+        AuditLogService auditLogService = mock(AuditLogService.class);
+        doAnswer(invocation -> batches.add(invocation.<List<AuditLog>>getArgument(0).stream()
+                .map(AuditLog::getMethodName).toList())).when(auditLogService).saveAuditLogs(anyList());
+        return new AuditLogWriter(auditLogService, new AuditParameterEncoder(new ObjectMapper(), 256, 20, Set.of()),
+                capacity, batchSize, flushInterval, backpressure, 2);
+    }
+
+    private static AuditLog event(String methodName) {
+        return new AuditLog("user", methodName, "[]", LocalDateTime.now(), 1L, AuditLog.SUCCESS, null);
+    }
+
+    private void awaitWritten(AuditLogWriter writer, long events) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (writer.snapshot().writtenEvents() < events && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Events should be written in full batches and the rest on close")
+    void eventsShouldBeWrittenInBatches() throws InterruptedException {
+        AuditLogWriter writer = writer(100, 3, Duration.ofMinutes(1), AuditBackpressure.BLOCK);
+        writer.start();
+        for (int i = 0; i < 7; i++) {
+            writer.submit(event("m" + i));
+        }
+        awaitWritten(writer, 6);
+        writer.close();
+
+        assertEquals(List.of(List.of("m0", "m1", "m2"), List.of("m3", "m4", "m5"), List.of("m6")), batches);
+        assertFalse(writer.submit(event("late")));
+        AuditWriterStats stats = writer.snapshot();
+        assertEquals(7, stats.writtenEvents());
+        assertEquals(3, stats.flushCount());
+        assertEquals(0, stats.queueDepth());
+        assertEquals(1, stats.droppedEvents());
+    }
+
+    @Test
+    @DisplayName("A partial batch should be written once its oldest event is due")
+    void partialBatchShouldBeWrittenWhenDue() throws InterruptedException {
+        AuditLogWriter writer = writer(100, 50, Duration.ofMillis(20), AuditBackpressure.BLOCK);
+        writer.start();
+        writer.submit(event("create"));
+        writer.submit(event("update"));
+
+        awaitWritten(writer, 2);
+
+        assertEquals(List.of(List.of("create", "update")), batches);
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("A full queue should drop the oldest event or sample new ones depending on the policy")
+    void fullQueueShouldApplyBackpressurePolicy() {
+        AuditLogWriter dropOldest = writer(2, 10, Duration.ofMinutes(1), AuditBackpressure.DROP_OLDEST);
+        assertTrue(dropOldest.submit(event("a")));
+        assertTrue(dropOldest.submit(event("b")));
+        assertTrue(dropOldest.submit(event("c")));
+        dropOldest.close();
+
+        assertEquals(List.of(List.of("b", "c")), batches);
+        assertEquals(1, dropOldest.snapshot().droppedEvents());
+
+        AuditLogWriter sample = writer(4, 10, Duration.ofMinutes(1), AuditBackpressure.SAMPLE);
+        for (int i = 0; i < 10; i++) {
+            sample.submit(event("s" + i));
+        }
+
+        assertEquals(4, sample.snapshot().acceptedEvents());
+        assertEquals(6, sample.snapshot().droppedEvents());
+        assertEquals(4, sample.snapshot().queueDepth());
+    }
+
+}
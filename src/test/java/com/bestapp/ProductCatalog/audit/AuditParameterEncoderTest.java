@@ -0,0 +1,50 @@
+package com.bestapp.ProductCatalog.audit;
+
+import com.bestapp.com.audit.AuditParameterEncoder;
+import com.bestapp.com.dto.Login;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditParameterEncoderTest {
+
+    private final AuditParameterEncoder encoder = new AuditParameterEncoder(new ObjectMapper(), 5, 2, Set.of("PASSWORD"));
+
+    @Test
+    @DisplayName("Strings and arrays should be cut to their limits and redacted fields masked")
+    void shouldBoundAndRedactArguments() {
+        Login login = new Login();
+        login.setUsername("administrator");
+        login.setPassword("secret");
+
+        String encoded = encoder.encode(new Object[]{login, List.of(1, 2, 3, 4), 7L, null});
+
+        assertEquals("[{\"username\":\"admin…\",\"password\":\"***\"},[1,2,\"<2 more>\"],7,null]", encoded);
+    }
+
+    @Test
+    @DisplayName("Streams and byte arrays should be recorded by type and size only")
+    void shouldNotReadStreams() {
+        String encoded = encoder.encode(new Object[]{new ByteArrayInputStream(new byte[3]), new byte[3]});
+
+        assertEquals("[\"<ByteArrayInputStream>\",\"<byte[3]>\"]", encoded);
+        assertEquals("[]", encoder.encode(null));
+    }
+
+    @Test
+    @DisplayName("Output streams and writers should be recorded by type only")
+    void shouldNotSerializeOutputStreams() {
+        String encoded = encoder.encode(new Object[]{new ByteArrayOutputStream(), new StringWriter()});
+
+        assertEquals("[\"<ByteArrayOutputStream>\",\"<StringWriter>\"]", encoded);
+    }
+
+}
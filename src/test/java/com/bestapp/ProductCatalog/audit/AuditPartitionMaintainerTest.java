@@ -0,0 +1,63 @@
+package com.bestapp.ProductCatalog.audit;
+
+import com.bestapp.com.audit.AuditPartitionMaintainer;
+import com.bestapp.com.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AuditPartitionMaintainerTest {
+
+    private AuditLogRepository auditLogRepository;
+    private PlatformTransactionManager transactionManager;
+    private AuditPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository = mock(AuditLogRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        Clock clock = Clock.fixed(Instant.parse("2025-03-15T10:00:00Z"), ZoneOffset.UTC);
+        maintainer = new AuditPartitionMaintainer(auditLogRepository, new TransactionTemplate(transactionManager),
+                2, 3, clock);
+    }
+
+    @Test
+    @DisplayName("The partitions of the current and the coming months should be created")
+    void shouldCreatePartitionsAhead() {
+        when(auditLogRepository.findPartitionNames()).thenReturn(List.of());
+
+        maintainer.maintain();
+
+        verify(auditLogRepository).createPartition("audit_202503", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 1));
+        verify(auditLogRepository).createPartition("audit_202504", LocalDate.of(2025, 4, 1), LocalDate.of(2025, 5, 1));
+        verify(auditLogRepository).createPartition("audit_202505", LocalDate.of(2025, 5, 1), LocalDate.of(2025, 6, 1));
+        verify(auditLogRepository, times(3)).createPartition(anyString(), any(), any());
+        verify(auditLogRepository, never()).dropPartition(anyString());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Partitions older than the retention should be dropped and foreign partitions kept")
+    void shouldDropExpiredPartitions() {
+        when(auditLogRepository.findPartitionNames()).thenReturn(
+                List.of("audit_202411", "audit_202412", "audit_202501", "audit_202503", "audit_default"));
+
+        maintainer.maintain();
+
+        verify(auditLogRepository).dropPartition("audit_202411");
+        verify(auditLogRepository).dropPartition("audit_202412");
+        verify(auditLogRepository, times(2)).dropPartition(anyString());
+    }
+
+}
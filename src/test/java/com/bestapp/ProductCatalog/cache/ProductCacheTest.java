@@ -0,0 +1,256 @@
+package com.bestapp.ProductCatalog.cache;
+
+import com.bestapp.com.cache.CacheKeys;
+import com.bestapp.com.cache.CacheSettings;
+import com.bestapp.com.cache.CacheType;
+import com.bestapp.com.cache.LoadStats;
+import com.bestapp.com.cache.ProductCache;
+import com.bestapp.com.cache.ProductSnapshot;
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.model.Product;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private static ProductDTO product(long id) {
+        return new ProductDTO(id, "Product" + id, "Description", 100.0, "Category", "Brand", 10);
+    }
+
+    @Test
+    @DisplayName("Loader should be called once and hits and misses counted per cache type")
+    void loaderShouldBeCalledOnceAndStatisticsRecorded() {
+        ProductCache cache = new ProductCache();
+        List<String> loadedKeys = new ArrayList<>();
+
+        cache.getFromCache("bikes", CacheType.CATEGORY, key -> {
+            loadedKeys.add(key);
+            return List.of(product(1));
+        });
+        List<ProductDTO> cached = cache.getFromCache("bikes", CacheType.CATEGORY, key -> {
+            loadedKeys.add(key);
+            return List.of();
+        });
+
+        assertEquals(List.of("bikes"), loadedKeys);
+        assertEquals(1, cached.size());
+        CacheStats stats = cache.getStatistics().get(CacheType.CATEGORY);
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.loadSuccessCount());
+        assertEquals(0, cache.getStatistics().get(CacheType.BRAND).requestCount());
+    }
+
+    @Test
+    @DisplayName("Cache type should not grow beyond its maximum weight")
+    void cacheTypeShouldBeBoundedByMaximumWeight() {
+        ProductCache cache = new ProductCache(Map.of(CacheType.SEARCH, new CacheSettings(10, Duration.ofMinutes(1), 1024, Duration.ZERO, 10, Duration.ofSeconds(30))),
+                Runnable::run);
+
+        for (int i = 0; i < 100; i++) {
+            cache.addToCache(CacheKeys.search("bike " + i), CacheType.SEARCH, List.of(product(i)));
+        }
+
+        assertTrue(cache.size(CacheType.SEARCH) <= 5);
+        assertTrue(cache.getStatistics().get(CacheType.SEARCH).evictionCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Clear all should drop entries of every cache type")
+    void clearAllShouldDropAllEntries() {
+        ProductCache cache = new ProductCache();
+        cache.addToCache("SpeedX", CacheType.BRAND, List.of(product(1)));
+        cache.addToCache("all", CacheType.ALL, List.of(product(1)));
+
+        cache.clearAll();
+
+        assertTrue(cache.getFromCache("SpeedX", CacheType.BRAND).isEmpty());
+        assertTrue(cache.getFromCache("all", CacheType.ALL).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalidating a product should drop only the entries it affects")
+    void invalidateProductShouldDropOnlyAffectedEntries() {
+        ProductCache cache = new ProductCache();
+        ProductDTO bike = product(1);
+        ProductDTO mouse = product(2);
+        cache.addToCache(CacheKeys.category("Bicycles"), CacheType.CATEGORY, List.of(bike));
+        cache.addToCache(CacheKeys.category("Helmets"), CacheType.CATEGORY, List.of());
+        cache.addToCache(CacheKeys.category("Electronics"), CacheType.CATEGORY, List.of(mouse));
+        cache.addToCache(CacheKeys.brand("SpeedX"), CacheType.BRAND, List.of(bike));
+        cache.addToCache("all", CacheType.ALL, List.of(bike, mouse));
+
+        cache.invalidateProduct(new ProductSnapshot(1L, "Bicycles", "SpeedX", 799.99),
+                new ProductSnapshot(1L, "Helmets", "SpeedX", 99.99));
+
+        assertTrue(cache.getFromCache(CacheKeys.category("Bicycles"), CacheType.CATEGORY).isEmpty());
+        assertEquals(Optional.of(List.of(mouse)), cache.getFromCache(CacheKeys.category("Electronics"), CacheType.CATEGORY));
+        assertEquals(1, cache.size(CacheType.CATEGORY));
+        assertEquals(0, cache.size(CacheType.BRAND));
+        assertEquals(0, cache.size(CacheType.ALL));
+    }
+
+    @Test
+    @DisplayName("Writing a product should drop only the searches it may now match")
+    void invalidateProductShouldDropSearchesSharingATerm() {
+        ProductCache cache = new ProductCache();
+        cache.addToCache(CacheKeys.window(CacheKeys.search("Red bike"), "RELEVANCE", null, 10), CacheType.SEARCH, List.of(product(1)));
+        cache.addToCache(CacheKeys.search("helmet -red"), CacheType.SEARCH, List.of(product(1)));
+        cache.addToCache(CacheKeys.search("mouse"), CacheType.SEARCH, List.of());
+        cache.addToCache(CacheKeys.search("-cheap"), CacheType.SEARCH, List.of());
+
+        cache.invalidateProduct(new ProductSnapshot(2L, "Bicycles", "SpeedX", 99.99, "Mountain BIKE, red frame"));
+
+        assertEquals(1, cache.size(CacheType.SEARCH));
+        assertEquals(1, cache.negativeSize(CacheType.SEARCH));
+        assertTrue(cache.getFromCache(CacheKeys.search("mouse"), CacheType.SEARCH).isPresent());
+    }
+
+    @Test
+    @DisplayName("Concurrent misses for the same key should run a single load")
+    void concurrentMissesShouldBeCoalesced() throws Exception {
+        ProductCache cache = new ProductCache();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        CompletableFuture<List<ProductDTO>> leader = CompletableFuture.supplyAsync(() ->
+                cache.getFromCache("bikes", CacheType.CATEGORY, key -> {
+                    loads.incrementAndGet();
+                    loaderStarted.countDown();
+                    await(releaseLoader);
+                    return List.of(product(1));
+                }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<ProductDTO>> follower = CompletableFuture.supplyAsync(() ->
+                cache.getFromCache("bikes", CacheType.CATEGORY, key -> {
+                    loads.incrementAndGet();
+                    return List.of();
+                }));
+        while (cache.getLoadStatistics().get(CacheType.CATEGORY).coalescedLoads() == 0) {
+            Thread.onSpinWait();
+        }
+        releaseLoader.countDown();
+
+        assertEquals(1, leader.get(5, TimeUnit.SECONDS).size());
+        assertSame(leader.get(), follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        LoadStats loadStats = cache.getLoadStatistics().get(CacheType.CATEGORY);
+        assertEquals(1, loadStats.coalescedLoads());
+        assertEquals(0, loadStats.loadsInFlight());
+    }
+
+    @Test
+    @DisplayName("Stale entry should be served while it is reloaded in the background")
+    void staleEntryShouldBeServedWhileRefreshing() throws Exception {
+        List<Runnable> refreshes = new ArrayList<>();
+        ProductCache cache = new ProductCache(Map.of(CacheType.BRAND,
+                new CacheSettings(100, Duration.ofMinutes(1), 1024, Duration.ofMillis(1), 10, Duration.ofSeconds(30))), refreshes::add);
+        List<ProductDTO> stale = cache.getFromCache("speedx", CacheType.BRAND, key -> List.of(product(1)));
+        Thread.sleep(5);
+
+        List<ProductDTO> served = cache.getFromCache("speedx", CacheType.BRAND, key -> List.of(product(1), product(2)));
+        cache.getFromCache("speedx", CacheType.BRAND, key -> List.of());
+
+        assertSame(stale, served);
+        assertEquals(1, refreshes.size());
+        refreshes.get(0).run();
+        assertEquals(2, cache.getFromCache("speedx", CacheType.BRAND).orElseThrow().size());
+        LoadStats loadStats = cache.getLoadStatistics().get(CacheType.BRAND);
+        assertEquals(1, loadStats.refreshes());
+        assertEquals(2, loadStats.staleHits());
+    }
+
+    @Test
+    @DisplayName("Empty result should be cached as a negative entry and dropped when a product matches it")
+    void emptyResultShouldBeCachedSeparately() {
+        ProductCache cache = new ProductCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getFromCache(CacheKeys.brand("Unknown"), CacheType.BRAND, key -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        List<ProductDTO> cached = cache.getFromCache(CacheKeys.brand("Unknown"), CacheType.BRAND, key -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertTrue(cached.isEmpty());
+        assertEquals(1, loads.get());
+        assertEquals(Optional.of(List.of()), cache.getFromCache(CacheKeys.brand("Unknown"), CacheType.BRAND));
+        assertEquals(0, cache.size(CacheType.BRAND));
+        assertEquals(2, cache.getNegativeStatistics().get(CacheType.BRAND).hitCount());
+
+        Product product = new Product("Bike", "Description", 100.0, "Bicycles", "Unknown", 1);
+        product.setId(1L);
+        cache.invalidateProduct(ProductSnapshot.of(product));
+        assertTrue(cache.getFromCache(CacheKeys.brand("Unknown"), CacheType.BRAND).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Empty negative entry should expire after its own shorter time-to-live")
+    void negativeEntryShouldExpireIndependently() throws Exception {
+        ProductCache cache = new ProductCache(Map.of(CacheType.SEARCH,
+                new CacheSettings(100, Duration.ofMinutes(1), 1024, Duration.ZERO, 10, Duration.ofMillis(1))), Runnable::run);
+        cache.getFromCache(CacheKeys.search("unicycle"), CacheType.SEARCH, key -> List.of());
+        cache.getFromCache(CacheKeys.search("bike"), CacheType.SEARCH, key -> List.of(product(1)));
+        Thread.sleep(5);
+
+        assertTrue(cache.getFromCache(CacheKeys.search("unicycle"), CacheType.SEARCH).isEmpty());
+        assertEquals(Optional.of(List.of(product(1))), cache.getFromCache(CacheKeys.search("bike"), CacheType.SEARCH));
+    }
+
+    @Test
+    @DisplayName("Insert or delete should drop only the listing pages at or after the product position")
+    void writeShouldDropOnlyFollowingPages() {
+        ProductCache cache = new ProductCache();
+        cache.addToCache(CacheKeys.page(1, 2), CacheType.ALL, List.of(product(1), product(2)));
+        cache.addToCache(CacheKeys.page(2, 2), CacheType.ALL, List.of(product(3), product(4)));
+        cache.addToCache(CacheKeys.page(3, 2), CacheType.ALL, List.of(product(5)));
+        cache.addToCache(CacheKeys.page(4, 2), CacheType.ALL, List.of());
+
+        cache.invalidatePagesFrom(3L);
+
+        assertTrue(cache.getFromCache(CacheKeys.page(1, 2), CacheType.ALL).isPresent());
+        assertTrue(cache.getFromCache(CacheKeys.page(2, 2), CacheType.ALL).isEmpty());
+        assertTrue(cache.getFromCache(CacheKeys.page(3, 2), CacheType.ALL).isEmpty());
+        assertTrue(cache.getFromCache(CacheKeys.page(4, 2), CacheType.ALL).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Replacing an entry with an equal list should keep it in the reverse index")
+    void replacedEntryShouldStayIndexed() {
+        ProductCache cache = new ProductCache();
+        cache.addToCache(CacheKeys.page(1, 2), CacheType.ALL, List.of(product(1), product(2)));
+        cache.addToCache(CacheKeys.page(1, 2), CacheType.ALL, List.of(product(1), product(2)));
+        ForkJoinPool.commonPool().awaitQuiescence(5, TimeUnit.SECONDS);
+
+        cache.invalidateProduct(ProductSnapshot.ofId(1L));
+
+        assertTrue(cache.getFromCache(CacheKeys.page(1, 2), CacheType.ALL).isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.bestapp.ProductCatalog.catalog;
+
+import com.bestapp.com.catalog.ProductCatalogLoader;
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.engine.ProductFilterCriteria;
+import com.bestapp.com.engine.ProductFilterEngine;
+import com.bestapp.com.repository.ProductRepository;
+import com.bestapp.com.suggest.ProductNameIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ProductCatalogLoaderTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductNameIndex nameIndex = new ProductNameIndex();
+    private final ProductFilterEngine engine = new ProductFilterEngine();
+    private final ProductCatalogLoader loader = new ProductCatalogLoader(productRepository, List.of(nameIndex, engine),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), 100);
+
+    private static ProductDTO product(long id) {
+        return new ProductDTO(id, "Mouse " + id, "Description", 10.0, "Electronics", "MouseCo", 1);
+    }
+
+    @Test
+    @DisplayName("One pass over the products should rebuild every structure")
+    void shouldFeedEveryStructureFromOneStream() {
+        when(productRepository.streamAll(any(), anyInt()))
+                .thenReturn(LongStream.rangeClosed(1, 3).mapToObj(ProductCatalogLoaderTest::product));
+
+        loader.load();
+
+        verify(productRepository, times(1)).streamAll(any(), anyInt());
+        assertEquals(3, nameIndex.size());
+        assertEquals(3, engine.size());
+    }
+
+    @Test
+    @DisplayName("A failed pass should keep the previous content of every structure")
+    void failedPassShouldKeepPreviousContent() {
+        nameIndex.put(1L, "Mouse 1");
+        engine.put(product(1));
+        when(productRepository.streamAll(any(), anyInt())).thenReturn(Stream.concat(
+                Stream.of(product(2), product(3)), Stream.generate(() -> {
+                    throw new IllegalStateException("connection lost");
+                })));
+
+        assertThrows(IllegalStateException.class, loader::load);
+
+        assertEquals(1, nameIndex.size());
+        assertEquals(1, engine.size());
+        when(productRepository.streamAll(any(), anyInt())).thenReturn(Stream.of(product(2)));
+        loader.load();
+        ProductFilterCriteria all = new ProductFilterCriteria(null, null, null, null, null, null);
+        assertEquals(List.of(2L), engine.filter(all, null, 10).stream().map(ProductDTO::getId).toList());
+    }
+
+}
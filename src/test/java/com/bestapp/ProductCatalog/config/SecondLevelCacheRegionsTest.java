@@ -0,0 +1,45 @@
+package com.bestapp.ProductCatalog.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecondLevelCacheRegionsTest {
+
+    private final Config config = ConfigFactory.load();
+
+    private CaffeineConfiguration<Object, Object> region(String name) {
+        return TypesafeConfigurator.<Object, Object>from(config, name)
+                .orElseThrow(() -> new AssertionError("Region " + name + " is not configured"));
+    }
+
+    @Test
+    @DisplayName("Entity and query regions should be bounded and expire")
+    void entityAndQueryRegionsShouldBeBoundedAndExpire() {
+        CaffeineConfiguration<Object, Object> product = region("product");
+        CaffeineConfiguration<Object, Object> queries = region("default-query-results-region");
+
+        assertEquals(OptionalLong.of(50_000), product.getMaximumSize());
+        assertTrue(product.getExpireAfterWrite().isPresent());
+        assertEquals(OptionalLong.of(10_000), queries.getMaximumSize());
+        assertTrue(queries.getExpireAfterWrite().isPresent());
+        assertTrue(product.isStatisticsEnabled());
+    }
+
+    @Test
+    @DisplayName("Update timestamps region should never expire")
+    void updateTimestampsRegionShouldNeverExpire() {
+        CaffeineConfiguration<Object, Object> timestamps = region("default-update-timestamps-region");
+
+        assertFalse(timestamps.getExpireAfterWrite().isPresent());
+        assertFalse(timestamps.getExpireAfterAccess().isPresent());
+    }
+
+}
@@ -4,6 +4,7 @@ import com.bestapp.com.controller.ProductController;
 import com.bestapp.com.dto.CreateOrUpdateProductDTO;
 import com.bestapp.com.dto.ProductDTO;
 import com.bestapp.com.service.ProductService;
+import com.bestapp.com.service.ProductSort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,7 @@ import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -98,16 +100,14 @@ class ProductControllerTest {
         MockHttpSession session = new MockHttpSession();
         session.setAttribute("username", "user");
 
-        ProductDTO dto = new ProductDTO();
-        dto.setName("Product1");
-
-        when(productService.getProductsByBrand("Brand1")).thenReturn(List.of(dto));
+        when(productService.getProductsByBrandAsJson("Brand1", ProductSort.ID, null, null))
+                .thenReturn("{\"items\":[{\"name\":\"Product1\"}],\"nextCursor\":null}".getBytes(StandardCharsets.UTF_8));
 
         mockMvc.perform(get("/api/products/brand")
                         .session(session)
                         .param("brand", "Brand1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("Product1"));
+                .andExpect(jsonPath("$.items[0].name").value("Product1"));
     }
 
     @Test
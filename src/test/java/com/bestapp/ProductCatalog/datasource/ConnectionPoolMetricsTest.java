@@ -0,0 +1,47 @@
+package com.bestapp.ProductCatalog.datasource;
+
+import com.bestapp.com.datasource.ConnectionPoolMetrics;
+import com.bestapp.com.datasource.ConnectionPoolStats;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectionPoolMetricsTest {
+
+    @Test
+    @DisplayName("Acquire times should be counted per bucket and pool sizes read from the pool")
+    void acquireTimesShouldBeCountedPerBucket() {
+        ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+        IMetricsTracker tracker = metrics.create("test", new PoolStats(0) {
+            @Override
+            protected void update() {
+                activeConnections = 3;
+                idleConnections = 2;
+                totalConnections = 5;
+                pendingThreads = 1;
+            }
+        });
+
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MICROSECONDS.toNanos(200));
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(7));
+        tracker.recordConnectionAcquiredNanos(TimeUnit.SECONDS.toNanos(6));
+        tracker.recordConnectionTimeout();
+        ConnectionPoolStats stats = metrics.snapshot(5, 20);
+
+        assertEquals(3, stats.active());
+        assertEquals(1, stats.pending());
+        assertEquals(3, stats.acquireCount());
+        assertEquals(1, stats.acquireTimeouts());
+        assertEquals(TimeUnit.SECONDS.toNanos(6), stats.maxAcquireNanos());
+        assertEquals(1, stats.acquireHistogram().get("<1ms"));
+        assertEquals(1, stats.acquireHistogram().get("<10ms"));
+        assertEquals(1, stats.acquireHistogram().get(">=5000ms"));
+        assertEquals(0, stats.acquireHistogram().get("<5ms"));
+    }
+
+}
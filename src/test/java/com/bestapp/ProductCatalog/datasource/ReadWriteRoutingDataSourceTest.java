@@ -0,0 +1,86 @@
+package com.bestapp.ProductCatalog.datasource;
+
+import com.bestapp.com.datasource.ReadWriteRoutingDataSource;
+import com.bestapp.com.datasource.RoutingStats;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final AtomicReference<String> session = new AtomicReference<>();
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        HikariDataSource primary = mock(HikariDataSource.class);
+        HikariDataSource replica = mock(HikariDataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new ReadWriteRoutingDataSource(primary, replica, session::get, Duration.ofMinutes(1));
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private Connection connect(boolean readOnly) throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            Connection connection = dataSource.getConnection();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            return connection;
+        } finally {
+            tearDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should use the replica and others the primary")
+    void readOnlyTransactionsShouldUseReplica() throws Exception {
+        assertSame(replicaConnection, connect(true));
+        assertSame(primaryConnection, connect(false));
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        RoutingStats stats = dataSource.snapshot();
+        assertEquals(2, stats.primaryConnections());
+        assertEquals(1, stats.replicaConnections());
+    }
+
+    @Test
+    @DisplayName("A session should read from the primary after its committed write")
+    void sessionShouldReadFromPrimaryAfterWrite() throws Exception {
+        session.set("writer");
+        connect(false);
+
+        assertSame(primaryConnection, connect(true));
+        session.set("reader");
+        assertSame(replicaConnection, connect(true));
+
+        RoutingStats stats = dataSource.snapshot();
+        assertEquals(1, stats.stickyConnections());
+        assertEquals(1, stats.stickySessions());
+    }
+
+}
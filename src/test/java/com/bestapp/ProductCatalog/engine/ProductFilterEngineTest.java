@@ -0,0 +1,75 @@
+package com.bestapp.ProductCatalog.engine;
+
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.engine.ProductFilterCriteria;
+import com.bestapp.com.engine.ProductFilterEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFilterEngineTest {
+
+    private static ProductDTO product(long id, String category, String brand, double price, int stock) {
+        return new ProductDTO(id, "Product " + id, "Description", price, category, brand, stock);
+    }
+
+    private static List<Long> ids(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Conditions on all columns should be combined and paged in id order")
+    void conditionsShouldBeCombined() {
+        ProductFilterEngine engine = new ProductFilterEngine();
+        engine.rebuild(LongStream.rangeClosed(1, 10_000).mapToObj(id -> product(id,
+                id % 2 == 0 ? "Bicycles" : "Helmets", id % 5 == 0 ? "SpeedX" : "Safe", id % 1000, (int) (id % 10))));
+
+        ProductFilterCriteria criteria = new ProductFilterCriteria(List.of("bicycles", "Scooters"), List.of("SPEEDX"),
+                100.0, 200.0, null, 0);
+        List<ProductDTO> first = engine.filter(criteria, null, 3);
+        List<ProductDTO> second = engine.filter(criteria, first.get(2).getId(), 3);
+
+        assertEquals(List.of(100L, 110L, 120L), ids(first));
+        assertEquals(List.of(130L, 140L, 150L), ids(second));
+        assertEquals(List.of(1L, 2L), ids(engine.filter(new ProductFilterCriteria(null, null, null, null, 1, 3), null, 2)));
+        assertTrue(engine.filter(new ProductFilterCriteria(List.of("Unknown"), null, null, null, null, null), null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Updates, deletions and out-of-order inserts should be reflected in the results")
+    void writesShouldBeReflected() {
+        ProductFilterEngine engine = new ProductFilterEngine();
+        engine.put(product(10, "Lamps", "Bright", 20.0, 1));
+        engine.put(product(20, "Lamps", "Bright", 30.0, 1));
+        engine.put(product(30, "Lamps", "Bright", 40.0, 1));
+
+        engine.put(product(20, "Desks", "Bright", 30.0, 1));
+        engine.remove(30);
+        engine.put(product(5, "Lamps", "Dim", 25.0, 0));
+
+        ProductFilterCriteria lamps = new ProductFilterCriteria(List.of("Lamps"), null, null, null, null, null);
+        assertEquals(List.of(5L, 10L), ids(engine.filter(lamps, null, 10)));
+        assertEquals(List.of(10L), ids(engine.filter(lamps, 5L, 10)));
+        assertEquals(List.of(20L), ids(engine.filter(new ProductFilterCriteria(List.of("desks"), null, null, null, null, null), null, 10)));
+        assertEquals(3, engine.size());
+    }
+
+    @Test
+    @DisplayName("Products committed out of id order should be paged in id order")
+    void outOfOrderInsertsShouldBePagedInIdOrder() {
+        ProductFilterEngine engine = new ProductFilterEngine();
+        engine.rebuild(LongStream.rangeClosed(1, 100).mapToObj(id -> product(id * 10, "Lamps", "Bright", 20.0, 1)));
+        LongStream.of(1005, 1003, 15, 1001, 995, 25).forEach(id -> engine.put(product(id, "Lamps", "Bright", 20.0, 1)));
+
+        ProductFilterCriteria lamps = new ProductFilterCriteria(List.of("Lamps"), null, null, null, null, null);
+        assertEquals(List.of(10L, 15L, 20L, 25L), ids(engine.filter(lamps, null, 4)));
+        assertEquals(List.of(990L, 995L, 1000L, 1001L), ids(engine.filter(lamps, 980L, 4)));
+        assertEquals(List.of(1003L, 1005L), ids(engine.filter(lamps, 1001L, 4)));
+        assertEquals(106, engine.size());
+    }
+
+}
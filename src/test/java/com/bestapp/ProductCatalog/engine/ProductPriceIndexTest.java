@@ -0,0 +1,75 @@
+package com.bestapp.ProductCatalog.engine;
+
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.engine.ProductPriceIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPriceIndexTest {
+
+    private static ProductDTO product(long id, double price) {
+        return new ProductDTO(id, "Product " + id, "Description", price, "Category", "Brand", (int) (id % 7));
+    }
+
+    private static List<Long> ids(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Range should be read in price order from the array and the delta buffer together")
+    void rangeShouldMergeArrayAndBuffer() {
+        ProductPriceIndex index = new ProductPriceIndex();
+        index.rebuild(LongStream.rangeClosed(1, 100).mapToObj(id -> product(id, id * 1.10)));
+
+        index.put(product(200, 5.50));
+        index.put(product(10, 3.30));
+        index.remove(4);
+        index.put(product(3, 3.30));
+
+        assertEquals(List.of(1L, 2L, 3L, 10L, 5L, 200L, 6L), ids(index.findByPrice(1.10, 6.60, null, null, 10)));
+        assertEquals(List.of(10L, 5L), ids(index.findByPrice(1.10, 6.60, 3.30, 3L, 2)));
+        assertEquals(List.of(6L), ids(index.findByPrice(1.10, 6.60, 5.50, 200L, 2)));
+        assertTrue(index.findByPrice(7.0, 6.0, null, null, 10).isEmpty());
+        assertEquals(100, index.size());
+    }
+
+    @Test
+    @DisplayName("Other orders should select their page from the whole range")
+    void otherOrdersShouldSelectTheirPage() {
+        ProductPriceIndex index = new ProductPriceIndex();
+        LongStream.rangeClosed(1, 20).forEach(id -> index.put(product(id, 20.0 - id)));
+        Comparator<ProductDTO> byStock = Comparator.comparingInt(ProductDTO::getStockQuantity)
+                .thenComparing(ProductDTO::getId);
+
+        List<ProductDTO> first = index.find(12.0, 16.0, byStock, product -> true, 3);
+        ProductDTO last = first.get(first.size() - 1);
+        List<ProductDTO> second = index.find(12.0, 16.0, byStock, product -> byStock.compare(product, last) > 0, 3);
+
+        assertEquals(List.of(7L, 8L, 4L), ids(first));
+        assertEquals(List.of(5L, 6L), ids(second));
+    }
+
+    @Test
+    @DisplayName("Writes should stay visible across merges and be replayed on a rebuild")
+    void writesShouldSurviveMergesAndRebuilds() {
+        ProductPriceIndex index = new ProductPriceIndex();
+        LongStream.rangeClosed(1, 5000).forEach(id -> index.put(product(id, id)));
+        LongStream.rangeClosed(1, 2500).forEach(id -> index.put(product(id, 10000 + id)));
+        LongStream.rangeClosed(2501, 4000).forEach(index::remove);
+
+        assertEquals(List.of(4001L, 4002L), ids(index.findByPrice(0, 5000, null, null, 2)));
+        assertEquals(List.of(1L), ids(index.findByPrice(10001, 10001, null, null, 10)));
+        assertEquals(3500, index.size());
+
+        index.rebuild(LongStream.rangeClosed(1, 3).mapToObj(id -> product(id, id)).peek(product -> index.put(product(9, 0.99))));
+
+        assertEquals(List.of(9L, 1L, 2L, 3L), ids(index.findByPrice(0, 100, null, null, 10)));
+    }
+
+}
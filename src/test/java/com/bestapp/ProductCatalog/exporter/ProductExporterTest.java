@@ -0,0 +1,73 @@
+package com.bestapp.ProductCatalog.exporter;
+
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.exporter.ProductExporter;
+import com.bestapp.com.repository.ProductFilter;
+import com.bestapp.com.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductExporterTest {
+
+    private ProductRepository productRepository;
+    private PlatformTransactionManager transactionManager;
+    private ProductExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        exporter = new ProductExporter(productRepository, objectMapper, new TransactionTemplate(transactionManager), 100);
+    }
+
+    private static ProductDTO product(long id, String name) {
+        return new ProductDTO(id, name, "Description", 10.0, "Category", "Brand", 1);
+    }
+
+    @Test
+    @DisplayName("Products should be written one per line inside a transaction and the stream closed")
+    void productsShouldBeWrittenAsNdjson() {
+        ProductFilter filter = ProductFilter.category("Category");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(productRepository.streamAll(filter, 100)).thenReturn(
+                Stream.of(product(1L, "First"), product(2L, "Second")).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = exporter.export(filter, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"name\":\"First\""));
+        assertTrue(lines[1].startsWith("{\"id\":2,\"name\":\"Second\""));
+        assertTrue(closed.get());
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("An empty result should produce an empty body")
+    void emptyResultShouldProduceEmptyBody() {
+        when(productRepository.streamAll(ProductFilter.all(), 100)).thenReturn(Stream.empty());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertEquals(0, exporter.export(ProductFilter.all(), output));
+        assertEquals(0, output.size());
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.bestapp.ProductCatalog.facet;
+
+import com.bestapp.com.cache.ProductSnapshot;
+import com.bestapp.com.dto.PriceBucketDTO;
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductFacetsDTO;
+import com.bestapp.com.facet.ProductFacets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFacetsTest {
+
+    @Test
+    @DisplayName("Writes should move products between case-insensitive counters and drop empty ones")
+    void writesShouldUpdateCountersIncrementally() {
+        ProductFacets facets = new ProductFacets(100);
+        ProductSnapshot bike = new ProductSnapshot(1L, "Bicycles", "SpeedX", 799.99);
+        ProductSnapshot helmet = new ProductSnapshot(2L, "Helmets", "SpeedX", 99.99);
+        ProductSnapshot renamed = new ProductSnapshot(2L, "Helmets", "Safe", 100.0);
+
+        facets.added(bike);
+        facets.added(helmet);
+        facets.added(new ProductSnapshot(3L, "HELMETS", "safe", 150.0));
+        facets.changed(helmet, renamed);
+        facets.removed(bike);
+
+        ProductFacetsDTO counts = facets.snapshot();
+        assertEquals(Map.of("helmets", 2L), counts.getCategories());
+        assertEquals(Map.of("safe", 2L), counts.getBrands());
+        assertEquals(List.of(new PriceBucketDTO(100.0, 200.0, 2)), counts.getPriceBuckets());
+    }
+
+    @Test
+    @DisplayName("A recount should replace the counters and keep the writes made while it ran")
+    void recountShouldReplayConcurrentWrites() {
+        ProductFacets facets = new ProductFacets(50);
+        facets.added(new ProductSnapshot(1L, "Drifted", "Brand", 10.0));
+
+        facets.recountStarted();
+        facets.added(new ProductSnapshot(3L, "Lamps", "Brand", 60.0));
+        facets.replace(Map.of("Lamps", 1L, "Desks", 1L, "desks", 1L), Map.of("Brand", 3L), Map.of(0L, 3L));
+
+        ProductFacetsDTO counts = facets.snapshot();
+        assertEquals(List.of("desks", "lamps"), List.copyOf(counts.getCategories().keySet()));
+        assertEquals(Map.of("lamps", 2L, "desks", 2L), counts.getCategories());
+        assertEquals(Map.of("brand", 4L), counts.getBrands());
+        assertEquals(List.of(new PriceBucketDTO(0.0, 50.0, 3), new PriceBucketDTO(50.0, 100.0, 1)),
+                counts.getPriceBuckets());
+    }
+
+    @Test
+    @DisplayName("Products without a category or brand should not be counted under a null key")
+    void nullCategoriesAndBrandsShouldBeSkipped() {
+        ProductFacets facets = new ProductFacets(100);
+        facets.added(new ProductSnapshot(1L, null, "Safe", 50.0));
+        facets.added(new ProductSnapshot(2L, "Helmets", null, 50.0));
+
+        Map<String, Long> categories = new HashMap<>();
+        categories.put(null, 2L);
+        categories.put("Helmets", 1L);
+        Map<String, Long> brands = new HashMap<>();
+        brands.put(null, 1L);
+        brands.put("Safe", 2L);
+        facets.recountStarted();
+        facets.removed(new ProductSnapshot(1L, null, "Safe", 50.0));
+        facets.replace(categories, brands, Map.of(0L, 3L));
+
+        ProductFacetsDTO counts = facets.snapshot();
+        assertEquals(Map.of("helmets", 1L), counts.getCategories());
+        assertEquals(Map.of("safe", 1L), counts.getBrands());
+        assertEquals(List.of(new PriceBucketDTO(0.0, 100.0, 2)), counts.getPriceBuckets());
+    }
+
+    @Test
+    @DisplayName("A rebuild from the catalog pass should recount all facets")
+    void rebuildShouldRecountFromProducts() {
+        ProductFacets facets = new ProductFacets(100);
+        facets.added(new ProductSnapshot(9L, "Drifted", "Brand", 10.0));
+
+        facets.rebuild(Stream.of(new ProductDTO(1L, "Lamp", "Description", 50.0, "Lamps", "Bright", 1),
+                new ProductDTO(2L, "Desk lamp", "Description", 150.0, "LAMPS", "Bright", 1)));
+
+        ProductFacetsDTO counts = facets.snapshot();
+        assertEquals(Map.of("lamps", 2L), counts.getCategories());
+        assertEquals(Map.of("bright", 2L), counts.getBrands());
+        assertEquals(List.of(new PriceBucketDTO(0.0, 100.0, 1), new PriceBucketDTO(100.0, 200.0, 1)),
+                counts.getPriceBuckets());
+    }
+
+}
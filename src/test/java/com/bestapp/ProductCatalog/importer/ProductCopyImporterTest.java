@@ -0,0 +1,101 @@
+package com.bestapp.ProductCatalog.importer;
+
+import com.bestapp.com.cache.ProductCache;
+import com.bestapp.com.dto.ProductImportResultDTO;
+import com.bestapp.com.importer.ProductCopyImporter;
+import com.bestapp.com.importer.ProductImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.persistence.EntityManagerFactory;
+import liquibase.integration.spring.SpringLiquibase;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the COPY import against a Liquibase-migrated Postgres.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductCopyImporterTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withUsername("alex")
+            .withPassword("alexSecret");
+
+    private static DriverManagerDataSource dataSource;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl() + "&currentSchema=app_data",
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:liquibase/changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("COPY import should insert new products and update existing ones by name and brand")
+    void copyImportShouldMergeByNameAndBrand() throws Exception {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(mock(SessionFactory.class, RETURNS_DEEP_STUBS));
+        ProductCopyImporter importer = new ProductCopyImporter(dataSource, entityManagerFactory, new ProductCache(),
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), 2);
+        String first = """
+                name,description,price,category,brand,stockQuantity
+                Phone,"Phone, black",100.0,Phones,Acme,5
+                Laptop,Laptop,900.0,Laptops,Acme,2
+                Tablet,Tablet,300.0,Tablets,Acme,7
+                """;
+        String second = """
+                name,description,price,category,brand,stockQuantity
+                Phone,Phone,80.0,Phones,Acme,10
+                Phone,Phone,100.0,Phones,Globex,1
+                """;
+
+        ProductImportResultDTO firstResult = importer.importProducts(body(first), ProductImportFormat.CSV);
+        ProductImportResultDTO secondResult = importer.importProducts(body(second), ProductImportFormat.CSV);
+
+        assertEquals(3, firstResult.getImportedRows());
+        assertEquals(2, firstResult.getChunks());
+        assertEquals(2, secondResult.getImportedRows());
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            assertEquals(4, count(statement, "select count(*) from products"));
+            assertEquals(10, count(statement,
+                    "select stock_quantity from products where name = 'Phone' and brand = 'Acme'"));
+        }
+    }
+
+    private static long count(Statement statement, String sql) throws Exception {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.bestapp.ProductCatalog.importer;
+
+import com.bestapp.com.cache.CacheKeys;
+import com.bestapp.com.cache.CacheType;
+import com.bestapp.com.cache.ProductCache;
+import com.bestapp.com.dto.ProductImportResultDTO;
+import com.bestapp.com.exception.BadRequestException;
+import com.bestapp.com.importer.ProductImportFormat;
+import com.bestapp.com.importer.ProductImporter;
+import com.bestapp.com.model.Product;
+import com.bestapp.com.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ProductImporterTest {
+
+    private ProductRepository productRepository;
+    private PlatformTransactionManager transactionManager;
+    private ProductCache cache;
+    private ProductImporter importer;
+    private final List<List<Product>> savedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        cache = new ProductCache();
+        AtomicLong ids = new AtomicLong();
+        when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> chunk = invocation.getArgument(0);
+            chunk.forEach(product -> product.setId(ids.incrementAndGet()));
+            savedChunks.add(List.copyOf(chunk));
+            return chunk;
+        });
+        importer = new ProductImporter(productRepository, cache, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new TransactionTemplate(transactionManager), 2);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("NDJSON rows should be saved in chunks, each in its own transaction")
+    void ndjsonRowsShouldBeSavedInChunks() {
+        String ndjson = """
+                {"name":"A","description":"D","price":1.0,"category":"Bicycles","brand":"SpeedX","stockQuantity":1}
+                {"name":"B","description":"D","price":2.0,"category":"Bicycles","brand":"SpeedX","stockQuantity":1}
+
+                {"name":"C","description":"D","price":3.0,"category":"Helmets","brand":"SpeedX","stockQuantity":1}
+                """;
+
+        ProductImportResultDTO result = importer.importProducts(body(ndjson), ProductImportFormat.NDJSON);
+
+        assertEquals(3, result.getImportedRows());
+        assertEquals(2, result.getChunks());
+        assertEquals(List.of(2, 1), savedChunks.stream().map(List::size).toList());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("CSV rows with quoted values should be imported and the affected cache entries dropped")
+    void csvRowsShouldBeImportedAndCacheInvalidated() {
+        cache.addToCache(CacheKeys.category("Bicycles"), CacheType.CATEGORY, List.of());
+        cache.addToCache(CacheKeys.category("Helmets"), CacheType.CATEGORY, List.of());
+        String csv = """
+                name,description,price,category,brand,stockQuantity
+                "Bike, road","A ""fast"" bike",799.99,Bicycles,SpeedX,12
+                """;
+
+        ProductImportResultDTO result = importer.importProducts(body(csv), ProductImportFormat.CSV);
+
+        assertEquals(1, result.getImportedRows());
+        Product saved = savedChunks.get(0).get(0);
+        assertEquals("Bike, road", saved.getName());
+        assertEquals("A \"fast\" bike", saved.getDescription());
+        assertEquals(799.99, saved.getPrice());
+        assertTrue(cache.getFromCache(CacheKeys.category("Bicycles"), CacheType.CATEGORY).isEmpty());
+        assertTrue(cache.getFromCache(CacheKeys.category("Helmets"), CacheType.CATEGORY).isPresent());
+    }
+
+    @Test
+    @DisplayName("Malformed row should stop the import with its line number")
+    void malformedRowShouldBeRejected() {
+        String csv = """
+                name,description,price,category,brand,stockQuantity
+                Bike,Desc,-1,Bicycles,SpeedX,12
+                """;
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> importer.importProducts(body(csv), ProductImportFormat.CSV));
+
+        assertEquals("Invalid row 2: Price must be positive.", exception.getMessage());
+        verify(productRepository, never()).saveAll(anyList());
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.bestapp.ProductCatalog.repository;
+
+import com.bestapp.com.repository.ProductFilter;
+import com.bestapp.com.repository.ProductRepository;
+import com.bestapp.com.repository.ProductRepositoryCustomImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the {@code ProductRepository} queries against a Liquibase-migrated Postgres seeded with a
+ * large products table, captures the statements Hibernate actually sends together with their
+ * parameter bindings, and fails if {@code EXPLAIN} of any of them shows a sequential scan.
+ * The bindings are replayed with the same JDBC setters, so an implicit cast of an indexed column
+ * is caught too.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductRepositoryQueryPlanTest {
+
+    private static final int SEEDED_PRODUCTS = 200_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withUsername("alex")
+            .withPassword("alexSecret");
+
+    private static final List<CapturedQuery> CAPTURED = new CopyOnWriteArrayList<>();
+
+    private static DriverManagerDataSource dataSource;
+    private static EntityManagerFactory entityManagerFactory;
+    private static ProductRepository productRepository;
+
+    /**
+     * A query sent by Hibernate and the setter calls that bound its parameters.
+     */
+    private record CapturedQuery(String sql, List<Binding> bindings) {
+    }
+
+    private record Binding(Method setter, Object[] arguments) {
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() throws Exception {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl() + "&currentSchema=app_data",
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:liquibase/changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("insert into products (name, description, price, category, brand, stock_quantity) "
+                    + "select 'Product ' || g, 'Description', (g % 100000) / 100.0, 'Category ' || (g % 500), "
+                    + "'Brand ' || (g % 2000), g % 100 from generate_series(1, " + SEEDED_PRODUCTS + ") g");
+            statement.execute("analyze products");
+        }
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new CapturingDataSource(dataSource));
+        factoryBean.setPackagesToScan("com.bestapp.com.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        ProductRepositoryCustomImpl custom = new ProductRepositoryCustomImpl();
+        ReflectionTestUtils.setField(custom, "entityManager", entityManager);
+        productRepository = new JpaRepositoryFactory(entityManager)
+                .getRepository(ProductRepository.class, RepositoryFragments.just(custom));
+    }
+
+    @AfterAll
+    static void close() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("listing at offset", repository -> repository.findPageAt(1_000, 50)),
+                query("listing after id", repository -> repository.findPage(ProductFilter.all(), "id", null, 100_000L, 51)),
+                query("listing by price", repository -> repository.findPage(ProductFilter.all(), "price", null, null, 51)),
+                query("listing by price after cursor",
+                        repository -> repository.findPage(ProductFilter.all(), "price", 500.0, 100_000L, 51)),
+                query("category", repository -> repository.findPage(ProductFilter.category("Category 42"), "id", null, null, 51)),
+                query("category after cursor",
+                        repository -> repository.findPage(ProductFilter.category("Category 42"), "id", null, 100_000L, 51)),
+                query("category by name",
+                        repository -> repository.findPage(ProductFilter.category("Category 42"), "name", null, null, 51)),
+                query("brand", repository -> repository.findPage(ProductFilter.brand("Brand 42"), "id", null, null, 51)),
+                query("price range",
+                        repository -> repository.findPage(ProductFilter.priceRange(10.0, 12.0), "id", null, null, 51)),
+                query("price range by price",
+                        repository -> repository.findPage(ProductFilter.priceRange(10.0, 12.0), "price", null, null, 51)),
+                query("full-text search", repository -> repository.search("4242", null, null, 51))
+        );
+    }
+
+    private static Arguments query(String name, Consumer<ProductRepository> call) {
+        return Arguments.of(name, call);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    @DisplayName("Repository query should not use a sequential scan")
+    void repositoryQueryShouldUseIndex(String name, Consumer<ProductRepository> call) throws Exception {
+        CAPTURED.clear();
+        call.accept(productRepository);
+
+        assertFalse(CAPTURED.isEmpty(), () -> name + " sent no query");
+        for (CapturedQuery query : CAPTURED) {
+            String plan = explain(query);
+            assertFalse(plan.contains("Seq Scan"),
+                    () -> name + " regressed to a sequential scan:\n" + query.sql() + "\n" + plan);
+        }
+    }
+
+    private static String explain(CapturedQuery query) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + query.sql())) {
+            for (Binding binding : query.bindings()) {
+                binding.setter().invoke(statement, binding.arguments());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * Hands out connections whose prepared statements record their parameter bindings and report
+     * every executed query to {@link #CAPTURED}.
+     */
+    private static final class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(DriverManagerDataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws java.sql.SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, arguments) -> {
+                        Object result = invoke(method, connection, arguments);
+                        if (result instanceof PreparedStatement statement && arguments[0] instanceof String sql) {
+                            return capturing(statement, sql);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capturing(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, arguments) -> {
+                        if (method.getName().startsWith("set") && method.getParameterCount() >= 2
+                                && method.getParameterTypes()[0] == int.class) {
+                            bindings.add(new Binding(method, arguments.clone()));
+                        } else if (method.getName().equals("executeQuery") && method.getParameterCount() == 0) {
+                            CAPTURED.add(new CapturedQuery(sql, List.copyOf(bindings)));
+                        }
+                        return invoke(method, statement, arguments);
+                    });
+        }
+
+        private static Object invoke(Method method, Object target, Object[] arguments) throws Throwable {
+            try {
+                return method.invoke(target, arguments);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+}
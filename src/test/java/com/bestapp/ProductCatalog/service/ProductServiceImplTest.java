@@ -1,21 +1,38 @@
 package com.bestapp.ProductCatalog.service;
 
+import com.bestapp.com.cache.ProductCache;
 import com.bestapp.com.dto.CreateOrUpdateProductDTO;
+import com.bestapp.com.dto.PriceBucketDTO;
 import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductFacetsDTO;
+import com.bestapp.com.dto.ProductPageDTO;
+import com.bestapp.com.dto.ProductSearchHitDTO;
+import com.bestapp.com.dto.ProductSuggestionDTO;
+import com.bestapp.com.engine.ProductFilterCriteria;
+import com.bestapp.com.engine.ProductFilterEngine;
+import com.bestapp.com.engine.ProductPriceIndex;
+import com.bestapp.com.exception.BadRequestException;
+import com.bestapp.com.facet.ProductFacets;
 import com.bestapp.com.model.Product;
+import com.bestapp.com.repository.ProductFilter;
 import com.bestapp.com.repository.ProductRepository;
+import com.bestapp.com.service.ProductCursor;
+import com.bestapp.com.service.ProductSort;
 import com.bestapp.com.service.impl.ProductServiceImpl;
+import com.bestapp.com.suggest.ProductNameIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.mockito.Spy;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +44,24 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Spy
+    private ProductCache productCache = new ProductCache();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private ProductNameIndex productNameIndex = new ProductNameIndex();
+
+    @Spy
+    private ProductFacets productFacets = new ProductFacets(100);
+
+    @Spy
+    private ProductFilterEngine productFilterEngine = new ProductFilterEngine();
+
+    @Spy
+    private ProductPriceIndex productPriceIndex = new ProductPriceIndex();
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -44,6 +79,10 @@ class ProductServiceImplTest {
         createOrUpdateProductDTO.setStockQuantity(10);
     }
 
+    private static ProductDTO row(Long id, String name, double price, String category, String brand) {
+        return new ProductDTO(id, name, "Description", price, category, brand, 10);
+    }
+
     @Test
     @DisplayName("Create product should return ProductDTO")
     void createProductShouldReturnProductDTO() {
@@ -105,13 +144,9 @@ class ProductServiceImplTest {
     @Test
     @DisplayName("Find all products should return product DTO list")
     void findAllProductsShouldReturnProductDTOList() {
-        Product product = new Product("Product1", "Description", 100.0, "Category", "Brand", 10);
-
-        List<Product> products = List.of(product);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-        Page<Product> page = new PageImpl<>(products, pageRequest, products.size());
+        ProductDTO product = row(1L, "Product1", 100.0, "Category", "Brand");
 
-        when(productRepository.findAll(pageRequest)).thenReturn(page);
+        when(productRepository.findPageAt(0, 50)).thenReturn(List.of(product));
 
         List<ProductDTO> result = productService.findAllProducts(1, 50);
 
@@ -119,65 +154,267 @@ class ProductServiceImplTest {
         assertEquals(1, result.size());
         assertEquals("Product1", result.get(0).getName());
 
-        verify(productRepository, times(1)).findAll(pageRequest);
+        verify(productRepository, times(1)).findPageAt(0, 50);
+    }
+
+    @Test
+    @DisplayName("Sequential page walk should prefetch the next pages with one keyset query")
+    void sequentialPageWalkShouldPrefetchNextPages() {
+        List<ProductDTO> products = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            products.add(row(id, "Product" + id, 100.0, "Category", "Brand"));
+        }
+        when(productRepository.findPageAt(0, 2)).thenReturn(products.subList(0, 2));
+        when(productRepository.findPage(ProductFilter.all(), "id", null, 2L, 8)).thenReturn(products.subList(2, 6));
+
+        productService.findAllProducts(1, 2);
+        List<ProductDTO> second = productService.findAllProducts(2, 2);
+        List<ProductDTO> third = productService.findAllProducts(3, 2);
+        List<ProductDTO> firstAgain = productService.findAllProducts(1, 2);
+
+        assertEquals(List.of("Product3", "Product4"), second.stream().map(ProductDTO::getName).toList());
+        assertEquals(List.of("Product5", "Product6"), third.stream().map(ProductDTO::getName).toList());
+        assertEquals(2, firstAgain.size());
+        verify(productRepository, times(1)).findPageAt(0, 2);
+        verify(productRepository, times(1)).findPage(ProductFilter.all(), "id", null, 2L, 8);
+    }
+
+    @Test
+    @DisplayName("Cursor pagination by price should seek after the last product of the previous page")
+    void cursorPaginationShouldSeekAfterPreviousPage() {
+        ProductDTO cheap = row(7L, "Cheap", 10.0, "Category", "Brand");
+        ProductDTO middle = row(3L, "Middle", 20.0, "Category", "Brand");
+        ProductDTO expensive = row(5L, "Expensive", 30.0, "Category", "Brand");
+        when(productRepository.findPage(ProductFilter.all(), "price", null, null, 3)).thenReturn(List.of(cheap, middle, expensive));
+        when(productRepository.findPage(ProductFilter.all(), "price", 20.0, 3L, 3)).thenReturn(List.of(expensive));
+
+        ProductPageDTO first = productService.findAllProducts(ProductSort.PRICE, null, 2);
+        ProductPageDTO second = productService.findAllProducts(ProductSort.PRICE, first.getNextCursor(), 2);
+
+        assertEquals(List.of("Cheap", "Middle"), first.getItems().stream().map(ProductDTO::getName).toList());
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of("Expensive"), second.getItems().stream().map(ProductDTO::getName).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Cursor issued for another sort should be rejected")
+    void cursorOfAnotherSortShouldBeRejected() {
+        String cursor = new ProductCursor(ProductSort.ID, "42", 42L).encode();
+
+        assertThrows(BadRequestException.class, () -> productService.findAllProducts(ProductSort.PRICE, cursor, 10));
+        assertThrows(BadRequestException.class, () -> productService.findAllProducts(ProductSort.ID, "not a cursor", 10));
+    }
+
+    @Test
+    @DisplayName("Suggestions should follow created, renamed and deleted products")
+    void suggestionsShouldFollowProductWrites() {
+        Product existing = new Product("Product1", "Description", 100.0, "Category", "Brand", 10);
+        existing.setId(1L);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
+            Product saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        productService.createProduct(createOrUpdateProductDTO);
+        List<ProductSuggestionDTO> created = productService.suggestProducts("prod", null);
+        createOrUpdateProductDTO.setName("Lamp");
+        productService.updateProduct(1L, createOrUpdateProductDTO);
+        List<ProductSuggestionDTO> renamed = productService.suggestProducts("lam", 5);
+        productService.deleteProductById(1L);
+
+        assertEquals(List.of(new ProductSuggestionDTO(1L, "Product1")), created);
+        assertEquals(List.of(new ProductSuggestionDTO(1L, "Lamp")), renamed);
+        assertTrue(productService.suggestProducts("prod", null).isEmpty());
+        assertTrue(productService.suggestProducts("lam", null).isEmpty());
+        assertThrows(BadRequestException.class, () -> productService.suggestProducts(" ", null));
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Facets should count created, updated and deleted products without a query")
+    void facetsShouldFollowProductWrites() {
+        Product existing = new Product("Product1", "Description", 100.0, "Category", "Brand", 10);
+        existing.setId(1L);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
+            Product saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        productService.createProduct(createOrUpdateProductDTO);
+        createOrUpdateProductDTO.setCategory("Lamps");
+        createOrUpdateProductDTO.setPrice(250.0);
+        productService.updateProduct(1L, createOrUpdateProductDTO);
+        ProductFacetsDTO updated = productService.getFacets();
+        productService.deleteProductById(1L);
+
+        assertEquals(Map.of("lamps", 1L), updated.getCategories());
+        assertTrue(productService.filterProducts(new ProductFilterCriteria(List.of("Lamps"), null, null, null, null, null),
+                null, 10).getItems().isEmpty());
+        assertEquals(List.of(new PriceBucketDTO(200.0, 300.0, 1)), updated.getPriceBuckets());
+        assertTrue(productService.getFacets().getCategories().isEmpty());
+        verify(productRepository, never()).countBy(any());
+    }
+
+    @Test
+    @DisplayName("Search should page by rank, reuse the cached page and drop it when a product gains a query term")
+    void searchShouldPageByRankAndBeDroppedOnMatchingCreate() {
+        ProductSearchHitDTO best = new ProductSearchHitDTO(4L, "Red bike", "Description", 10.0, "Category", "Brand", 1, 0.6f);
+        ProductSearchHitDTO good = new ProductSearchHitDTO(2L, "Bike", "Red frame", 20.0, "Category", "Brand", 1, 0.3f);
+        ProductSearchHitDTO other = new ProductSearchHitDTO(3L, "Bike", "Red wheels", 30.0, "Category", "Brand", 1, 0.3f);
+        when(productRepository.search("red bike", null, null, 3)).thenReturn(List.of(best, good, other));
+        when(productRepository.search("red bike", 0.3f, 2L, 3)).thenReturn(List.of(other));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
+            Product created = invocation.getArgument(0);
+            created.setId(5L);
+            return created;
+        });
+
+        ProductPageDTO first = productService.searchProducts("  Red   BIKE ", null, 2);
+        productService.searchProducts("red bike", null, 2);
+        ProductPageDTO second = productService.searchProducts("red bike", first.getNextCursor(), 2);
+        productService.createProduct(createOrUpdateProductDTO);
+        productService.searchProducts("red bike", null, 2);
+        createOrUpdateProductDTO.setName("Red helmet");
+        productService.createProduct(createOrUpdateProductDTO);
+        productService.searchProducts("red bike", null, 2);
+
+        assertEquals(List.of(4L, 2L), first.getItems().stream().map(ProductDTO::getId).toList());
+        assertEquals(List.of(3L), second.getItems().stream().map(ProductDTO::getId).toList());
+        assertNull(second.getNextCursor());
+        verify(productRepository, times(2)).search("red bike", null, null, 3);
+        assertThrows(BadRequestException.class, () -> productService.searchProducts(" ", null, 10));
+        assertThrows(BadRequestException.class, () -> productService.searchProducts("bike", new ProductCursor(ProductSort.PRICE, "10.0", 1L).encode(), 10));
     }
 
     @Test
     @DisplayName("Get products by category should return product DTO list")
     void getProductsByCategoryShouldReturnProductDTOList() {
         String category = "Category1";
-        Product product = new Product("Product1", "Description", 100.0, category, "Brand", 10);
+        ProductDTO product = row(null, "Product1", 100.0, category, "Brand");
 
-        when(productRepository.findByCategoryIgnoreCase(category))
+        when(productRepository.findPage(ProductFilter.category(category), "id", null, null, 51))
                 .thenReturn(List.of(product));
 
-        List<ProductDTO> result = productService.getProductsByCategory(category);
+        List<ProductDTO> result = productService.getProductsByCategory(category, ProductSort.ID, null, null).getItems();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Product1", result.get(0).getName());
 
         verify(productRepository, times(1))
-                .findByCategoryIgnoreCase(category);
+                .findPage(ProductFilter.category(category), "id", null, null, 51);
     }
 
     @Test
-    @DisplayName("Get products by brand should return product DTO list")
-    void getProductsByBrandShouldReturnProductDTOList() {
-        String brand = "Brand1";
-        Product product = new Product("Product1", "Description", 100.0, "Category", brand, 10);
+    @DisplayName("Repeated category lookup should be served from cache")
+    void repeatedCategoryLookupShouldBeServedFromCache() {
+        String category = "Category1";
+        ProductDTO product = row(null, "Product1", 100.0, category, "Brand");
 
-        when(productRepository.findByBrandIgnoreCase(brand))
+        when(productRepository.findPage(ProductFilter.category(category), "name", null, null, 11))
                 .thenReturn(List.of(product));
 
-        List<ProductDTO> result = productService.getProductsByBrand(brand);
+        productService.getProductsByCategory(category, ProductSort.NAME, null, 10);
+        List<ProductDTO> result = productService.getProductsByCategory(category.toUpperCase(), ProductSort.NAME, null, 10).getItems();
 
-        assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("Product1", result.get(0).getName());
-
         verify(productRepository, times(1))
-                .findByBrandIgnoreCase(brand);
+                .findPage(ProductFilter.category(category), "name", null, null, 11);
+    }
+
+    @Test
+    @DisplayName("Category JSON should be serialized once and dropped on product update")
+    void categoryJsonShouldBeSerializedOnceAndDroppedOnUpdate() throws Exception {
+        String category = "Category";
+        ProductDTO product = row(1L, "Product1", 100.0, category, "Brand");
+
+        when(productRepository.findPage(ProductFilter.category(category), "id", null, null, 51))
+                .thenReturn(List.of(product));
+        Product existing = new Product("Product1", "Description", 100.0, category, "Brand", 10);
+        existing.setId(1L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(productRepository.save(any(Product.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        byte[] first = productService.getProductsByCategoryAsJson(category, ProductSort.ID, null, null);
+        byte[] second = productService.getProductsByCategoryAsJson(category, ProductSort.ID, null, null);
+        productService.updateProduct(1L, createOrUpdateProductDTO);
+        productService.getProductsByCategoryAsJson(category, ProductSort.ID, null, null);
+
+        assertSame(first, second);
+        assertTrue(new String(first, StandardCharsets.UTF_8).contains("\"name\":\"Product1\""));
+        verify(objectMapper, times(2)).writeValueAsBytes(any());
+        verify(productRepository, times(2)).findPage(ProductFilter.category(category), "id", null, null, 51);
     }
 
     @Test
-    @DisplayName("Get products by price range should return product DTO list")
-    void getProductsByPriceRangeShouldReturnProductDTOList() {
-        double min = 50.0;
-        double max = 150.0;
-        Product product = new Product("Product1", "Description", 100.0, "Category", "Brand", 10);
+    @DisplayName("Every cached page of a category should be dropped when a product joins the category")
+    void categoryPagesShouldBeDroppedOnCreate() {
+        ProductDTO first = row(1L, "First", 10.0, "Category", "Brand");
+        ProductDTO second = row(2L, "Second", 20.0, "Category", "Brand");
+        when(productRepository.findPage(ProductFilter.category("Category"), "price", null, null, 2))
+                .thenReturn(List.of(first, second));
+        when(productRepository.findPage(ProductFilter.category("Category"), "price", 10.0, 1L, 2))
+                .thenReturn(List.of(second));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
+            Product created = invocation.getArgument(0);
+            created.setId(3L);
+            return created;
+        });
+
+        ProductPageDTO page = productService.getProductsByCategory("Category", ProductSort.PRICE, null, 1);
+        productService.getProductsByCategory("Category", ProductSort.PRICE, page.getNextCursor(), 1);
+        productService.createProduct(createOrUpdateProductDTO);
+        productService.getProductsByCategory("Category", ProductSort.PRICE, null, 1);
+        productService.getProductsByCategory("Category", ProductSort.PRICE, page.getNextCursor(), 1);
+
+        verify(productRepository, times(2)).findPage(ProductFilter.category("Category"), "price", null, null, 2);
+        verify(productRepository, times(2)).findPage(ProductFilter.category("Category"), "price", 10.0, 1L, 2);
+    }
 
-        when(productRepository.findByPriceBetween(min, max))
+    @Test
+    @DisplayName("Get products by brand should return product DTO list")
+    void getProductsByBrandShouldReturnProductDTOList() {
+        String brand = "Brand1";
+        ProductDTO product = row(null, "Product1", 100.0, "Category", brand);
+
+        when(productRepository.findPage(ProductFilter.brand(brand), "stockQuantity", null, null, 51))
                 .thenReturn(List.of(product));
 
-        List<ProductDTO> result = productService.getProductsByPriceRange(min, max);
+        List<ProductDTO> result = productService.getProductsByBrand(brand, ProductSort.STOCK, null, 100).getItems();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Product1", result.get(0).getName());
 
         verify(productRepository, times(1))
-                .findByPriceBetween(min, max);
+                .findPage(ProductFilter.brand(brand), "stockQuantity", null, null, 51);
+    }
+
+    @Test
+    @DisplayName("Get products by price range should page the price index without querying the database")
+    void getProductsByPriceRangeShouldPageThePriceIndex() {
+        productPriceIndex.put(row(1L, "Lamp", 120.0, "Category", "Brand"));
+        productPriceIndex.put(row(2L, "Desk", 80.0, "Category", "Brand"));
+        productPriceIndex.put(row(3L, "Chair", 150.0, "Category", "Brand"));
+        productPriceIndex.put(row(4L, "Sofa", 900.0, "Category", "Brand"));
+
+        ProductPageDTO first = productService.getProductsByPriceRange(50.0, 150.0, ProductSort.PRICE, null, 2);
+        ProductPageDTO second = productService.getProductsByPriceRange(50.0, 150.0, ProductSort.PRICE, first.getNextCursor(), 2);
+        ProductPageDTO byName = productService.getProductsByPriceRange(50.0, 150.0, ProductSort.NAME, null, 2);
+        ProductPageDTO byNameNext = productService.getProductsByPriceRange(50.0, 150.0, ProductSort.NAME, byName.getNextCursor(), 2);
+
+        assertEquals(List.of(2L, 1L), first.getItems().stream().map(ProductDTO::getId).toList());
+        assertEquals(List.of(3L), second.getItems().stream().map(ProductDTO::getId).toList());
+        assertNull(second.getNextCursor());
+        assertEquals(List.of("Chair", "Desk"), byName.getItems().stream().map(ProductDTO::getName).toList());
+        assertEquals(List.of("Lamp"), byNameNext.getItems().stream().map(ProductDTO::getName).toList());
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -0,0 +1,79 @@
+package com.bestapp.ProductCatalog.suggest;
+
+import com.bestapp.com.dto.ProductDTO;
+import com.bestapp.com.dto.ProductSuggestionDTO;
+import com.bestapp.com.suggest.ProductNameIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductNameIndexTest {
+
+    private static List<String> names(List<ProductSuggestionDTO> suggestions) {
+        return suggestions.stream().map(ProductSuggestionDTO::getName).toList();
+    }
+
+    @Test
+    @DisplayName("Every typed word should start a word of the name and leading matches should rank first")
+    void suggestShouldMatchWordPrefixesAndRankLeadingMatchesFirst() {
+        ProductNameIndex index = new ProductNameIndex();
+        index.put(1L, "Wireless Mouse");
+        index.put(2L, "Mouse pad");
+        index.put(3L, "Mousetrap deluxe");
+        index.put(4L, "Gaming mouse, wireless");
+        index.put(5L, "Famous house");
+
+        assertEquals(List.of("Mouse pad", "Mousetrap deluxe", "Wireless Mouse", "Gaming mouse, wireless"),
+                names(index.suggest("MOU", 10)));
+        assertEquals(List.of("Wireless Mouse", "Gaming mouse, wireless"), names(index.suggest("wireless mo", 10)));
+        assertEquals(List.of("Mouse pad"), names(index.suggest("mou", 1)));
+        assertEquals(List.of("Famous house"), names(index.suggest("f", 10)));
+        assertTrue(index.suggest("ouse", 10).isEmpty());
+        assertTrue(index.suggest(" ,", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Renamed and removed products should disappear from suggestions across posting blocks")
+    void writesShouldBeReflectedAcrossPostingBlocks() {
+        ProductNameIndex index = new ProductNameIndex();
+        for (long id = 1; id <= 1_000; id++) {
+            index.put(id, (id % 3 == 0 ? "Red bike " : "Blue bike ") + id);
+        }
+
+        index.put(999L, "Green bike 999");
+        index.remove(3L);
+
+        List<ProductSuggestionDTO> red = index.suggest("red bi", 500);
+        assertEquals(331, red.size());
+        assertEquals("Red bike 6", red.get(0).getName());
+        assertEquals(List.of(999L), index.suggest("green", 10).stream().map(ProductSuggestionDTO::getId).toList());
+        assertEquals(List.of("Blue bike 1000"), names(index.suggest("blue bike 1000", 10)));
+        assertEquals(999, index.size());
+    }
+
+    @Test
+    @DisplayName("A rebuild should replace the content and keep writes made while it runs")
+    void rebuildShouldKeepConcurrentWrites() {
+        ProductNameIndex index = new ProductNameIndex();
+        index.put(1L, "Old lamp");
+        Stream<ProductDTO> products = LongStream.rangeClosed(10, 12)
+                .mapToObj(id -> new ProductDTO(id, "Desk lamp " + id, "Description", 10.0, "Category", "Brand", 1))
+                .peek(product -> {
+                    if (product.getId() == 11L) {
+                        index.put(20L, "Floor lamp");
+                        index.remove(12L);
+                    }
+                });
+
+        index.rebuild(products);
+
+        assertEquals(List.of("Floor lamp", "Desk lamp 10", "Desk lamp 11"), names(index.suggest("lamp", 10)));
+        assertTrue(index.suggest("old", 10).isEmpty());
+    }
+
+}